@@ -12,11 +12,17 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // Parameters that switch GET /api/orders to the filtered, paginated listing
+    private static final List<String> ORDER_LISTING_FILTERS = List.of("status", "from", "to", "email", "cursor", "limit");
+
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -29,9 +35,13 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/products/**").permitAll()
+                        // Part data under /api/pcs needs the same roles as /api/parts
+                        .requestMatchers("/api/pcs/parts", "/api/pcs/*/parts").hasAnyRole("USER", "ADMIN")
                         .requestMatchers("/api/pcs/**").permitAll()
                         .requestMatchers("/api/inquiries").permitAll()
                         .requestMatchers("/api/parts/**").hasAnyRole("USER", "ADMIN")
+                        // Filtering by email, status or date exposes other customers' orders
+                        .requestMatchers(filteredOrderListing()).hasRole("ADMIN")
                         .requestMatchers("/api/orders/**").permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
@@ -41,6 +51,15 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private static RequestMatcher filteredOrderListing() {
+        return request -> {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            return "GET".equals(request.getMethod())
+                    && (path.equals("/api/orders") || path.equals("/api/orders/"))
+                    && ORDER_LISTING_FILTERS.stream().anyMatch(name -> request.getParameter(name) != null);
+        };
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -1,15 +1,40 @@
 package com.example.PcStore.controller;
 
 
+import com.example.PcStore.dto.OrderDto;
+import com.example.PcStore.dto.OrderStatusTransitionDto;
+import com.example.PcStore.dto.OrderStatusTransitionResultDto;
+import com.example.PcStore.dto.ProductDto;
+import com.example.PcStore.dto.ProductImportResultDto;
+import com.example.PcStore.dto.SalesAnalyticsDto;
 import com.example.PcStore.model.Product;
 import com.example.PcStore.model.User;
+import com.example.PcStore.service.OrderArchiveService;
+import com.example.PcStore.service.OrderIntakeService;
+import com.example.PcStore.service.OrderService;
+import com.example.PcStore.service.ProductExportService;
+import com.example.PcStore.service.ProductImportService;
 import com.example.PcStore.service.ProductService;
+import com.example.PcStore.service.SalesRollupService;
 import com.example.PcStore.service.UserService;
+import com.example.PcStore.service.inventory.PCService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*; // Import necessary annotations
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -17,11 +42,29 @@ public class AdminController {
 
     private final UserService userService;
     private final ProductService productService;
+    private final ProductExportService productExportService;
+    private final ProductImportService productImportService;
+    private final OrderIntakeService orderIntakeService;
+    private final OrderService orderService;
+    private final SalesRollupService salesRollupService;
+    private final OrderArchiveService orderArchiveService;
+    private final PCService pcService;
 
     @Autowired
-    public AdminController(UserService userService, ProductService productService) {
+    public AdminController(UserService userService, ProductService productService,
+                           ProductExportService productExportService, ProductImportService productImportService,
+                           OrderIntakeService orderIntakeService, OrderService orderService,
+                           SalesRollupService salesRollupService, OrderArchiveService orderArchiveService,
+                           PCService pcService) {
         this.userService = userService;
         this.productService = productService;
+        this.productExportService = productExportService;
+        this.productImportService = productImportService;
+        this.orderIntakeService = orderIntakeService;
+        this.orderService = orderService;
+        this.salesRollupService = salesRollupService;
+        this.orderArchiveService = orderArchiveService;
+        this.pcService = pcService;
     }
 
     @GetMapping("/users")
@@ -29,9 +72,95 @@ public class AdminController {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    // Any of cursor/limit/sort switches to keyset pagination
     @GetMapping("/products")
-    public  ResponseEntity<List<Product>> getAllProducts(){
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<?> getAllProducts(@RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String sort) {
+        if (cursor == null && limit == null && sort == null) {
+            return ResponseEntity.ok(productService.getAllProducts());
+        }
+        return ResponseEntity.ok(productService.getProductPage(sort, cursor, limit));
+    }
+
+    // Streams the whole catalog as NDJSON (default) or CSV without building it in memory
+    @GetMapping("/products/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "ndjson") String format) {
+        String normalized = ProductExportService.normalizeFormat(format);
+        boolean csv = ProductExportService.FORMAT_CSV.equals(normalized);
+        StreamingResponseBody body = out -> productExportService.exportProducts(out, normalized);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + normalized + "\"")
+                .body(body);
+    }
+
+    // Bulk import from a JSON array of products; rows with an id are upserted
+    @PostMapping(value = "/products/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductImportResultDto> importProducts(@RequestBody List<ProductDto> products) {
+        return ResponseEntity.ok(productImportService.importProducts(products));
+    }
+
+    // Bulk import from an uploaded CSV file with a header row
+    @PostMapping(value = "/products/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProductImportResultDto> importProductsCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            return ResponseEntity.ok(productImportService.importCsv(reader));
+        }
+    }
+
+    @GetMapping("/products/cache-stats")
+    public ResponseEntity<Map<String, Long>> getProductCacheStats() {
+        return ResponseEntity.ok(productService.getCacheStats());
+    }
+
+    // Queue depth, group sizes and commit latency of the async order intake
+    @GetMapping("/orders/intake-stats")
+    public ResponseEntity<Map<String, Object>> getOrderIntakeStats() {
+        return ResponseEntity.ok(orderIntakeService.getStats());
+    }
+
+    @PutMapping("/orders/{id}/status")
+    public ResponseEntity<OrderDto> updateOrderStatus(@PathVariable Long id, @RequestParam String status) {
+        return ResponseEntity.ok(orderService.updateStatus(id, status));
+    }
+
+    // Moves many orders at once, e.g. {"from": "PROCESSING", "to": "SHIPPED", "orderIds": [...]}
+    @PostMapping("/orders/status-transitions")
+    public ResponseEntity<OrderStatusTransitionResultDto> transitionOrderStatus(
+            @RequestBody OrderStatusTransitionDto request) {
+        return ResponseEntity.ok(orderService.transitionStatus(request));
+    }
+
+    // Runs the nightly archival job now, with the same age and status rules
+    @PostMapping("/orders/archive")
+    public ResponseEntity<Map<String, Integer>> archiveOrders() {
+        return ResponseEntity.ok(Map.of("archived", orderArchiveService.archiveOldOrders()));
+    }
+
+    // Reads only the daily rollups; defaults to the last 30 days
+    @GetMapping("/analytics/sales")
+    public ResponseEntity<SalesAnalyticsDto> getSalesAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(salesRollupService.getSales(from, to));
+    }
+
+    // Backfill: recomputes every rollup row from the orders table
+    @PostMapping("/analytics/sales/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildSalesRollups() {
+        return ResponseEntity.ok(Map.of("rows", salesRollupService.rebuild()));
+    }
+
+    @GetMapping("/inventory/snapshot-stats")
+    public ResponseEntity<Map<String, Long>> getInventorySnapshotStats() {
+        return ResponseEntity.ok(pcService.getSnapshotStats());
+    }
+
+    // Recomputes every PC's part totals now instead of waiting for the nightly job
+    @PostMapping("/pcs/reconcile-part-totals")
+    public ResponseEntity<Map<String, Integer>> reconcilePcPartTotals() {
+        return ResponseEntity.ok(Map.of("corrected", pcService.reconcilePartTotals()));
     }
 
     @GetMapping("/users/{id}")
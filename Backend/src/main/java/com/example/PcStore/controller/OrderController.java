@@ -1,14 +1,27 @@
 package com.example.PcStore.controller;
 
 import com.example.PcStore.dto.OrderDto;
+import com.example.PcStore.dto.OrderSearchCriteria;
+import com.example.PcStore.dto.OrderTicketDto;
+import com.example.PcStore.exception.OrderIntakeFullException;
+import com.example.PcStore.exception.OrderLinesRejectedException;
+import com.example.PcStore.model.enums.OrderStatus;
+import com.example.PcStore.service.OrderIdempotencyService;
+import com.example.PcStore.service.OrderIntakeService;
 import com.example.PcStore.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -18,23 +31,83 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderIntakeService orderIntakeService;
+
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
     // Create a new order
     @PreAuthorize("hasRole('USER')")
     @PostMapping("/add")
-    public ResponseEntity<?> createOrder(@RequestBody OrderDto orderDto) {
+    public ResponseEntity<?> createOrder(@RequestBody OrderDto orderDto,
+                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                         Authentication authentication) {
         try {
+            String user = authentication == null ? null : authentication.getName();
+            // Checkout may only use the caller's own cart reservations
+            orderDto.setReservationOwner(user);
+            // Keyed requests are answered synchronously so a retry can be given the original order
+            if (idempotencyKey != null) {
+                OrderDto replay = orderIdempotencyService.findReplay(user, idempotencyKey, orderDto);
+                if (replay != null) {
+                    return ResponseEntity.ok().header("Idempotent-Replayed", "true").body(replay);
+                }
+                return ResponseEntity.ok(orderIdempotencyService.createOrder(user, idempotencyKey, orderDto));
+            }
+            // With async intake the order is only validated and queued; poll the ticket for the result
+            if (orderIntakeService.isEnabled()) {
+                OrderTicketDto ticket = orderIntakeService.submit(orderDto);
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .header(HttpHeaders.LOCATION, "/api/orders/tickets/" + ticket.getTicketId())
+                        .body(ticket);
+            }
             OrderDto createdOrder = orderService.createOrder(orderDto);
             return ResponseEntity.ok(createdOrder);
+        } catch (OrderLinesRejectedException e) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("message", e.getMessage());
+            body.put("lineErrors", e.getLineErrors());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+        } catch (OrderIntakeFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(e.getMessage());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Server error: " + e.getMessage());
         }
     }
 
-    @GetMapping("/")
-    public List<OrderDto> getAllOrders() {
-        return orderService.getAllOrders();
+    // Any filter or paging parameter switches to the keyset-paginated listing
+    @GetMapping({"", "/"})
+    public ResponseEntity<?> getAllOrders(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (status == null && from == null && to == null && email == null && cursor == null && limit == null) {
+            return ResponseEntity.ok(orderService.getAllOrders());
+        }
+        OrderStatus statusFilter;
+        try {
+            statusFilter = OrderStatus.fromValue(status);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        OrderSearchCriteria criteria = new OrderSearchCriteria(statusFilter, from, to, email);
+        return ResponseEntity.ok(orderService.getOrderPage(criteria, cursor, limit));
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/tickets/{ticketId}")
+    public OrderTicketDto getOrderTicket(@PathVariable String ticketId) {
+        return orderIntakeService.getTicket(ticketId);
     }
 
     @GetMapping("/{id}")
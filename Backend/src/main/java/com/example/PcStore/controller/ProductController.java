@@ -1,11 +1,20 @@
 package com.example.PcStore.controller;
 
+import com.example.PcStore.dto.ProductAvailabilityDto;
+import com.example.PcStore.dto.ProductSearchCriteria;
+import com.example.PcStore.dto.ProductSearchResponse;
+import com.example.PcStore.dto.ProductSummaryDto;
+import com.example.PcStore.dto.TextSearchResponse;
 import com.example.PcStore.model.Product;
+import com.example.PcStore.service.CatalogVersions;
 import com.example.PcStore.service.ProductService;
+import com.example.PcStore.service.StockReservationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -15,16 +24,72 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
-    // Public endpoint to get all products
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    // Public endpoint to get products; any of cursor/limit/sort switches to keyset pagination
     @GetMapping("/products")
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<?> getAllProducts(@RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String sort,
+                                            WebRequest request) {
+        String etag = productService.getCatalogEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(catalogVersions.publicCacheControl());
+        if (cursor == null && limit == null && sort == null) {
+            return response.body(productService.getProductSummaries());
+        }
+        return response.body(productService.getProductPage(sort, cursor, limit));
+    }
+
+    // Public endpoint for filtered search with facet counts
+    @GetMapping("/products/search")
+    public ResponseEntity<ProductSearchResponse<ProductSummaryDto>> searchProducts(
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        ProductSearchCriteria criteria = new ProductSearchCriteria(category, minPrice, maxPrice, inStock);
+        return ResponseEntity.ok(productService.searchProducts(criteria, page, size, sort));
+    }
+
+    // Public endpoint for ranked full-text search over name, category and description
+    @GetMapping("/products/search/text")
+    public ResponseEntity<TextSearchResponse<ProductSummaryDto>> textSearch(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productService.textSearch(q, page, size));
     }
 
     // Public endpoint to get a specific product
     @GetMapping("/products/{id}")
-    public ResponseEntity<Product> getProduct(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProduct(id));
+    public ResponseEntity<Product> getProduct(@PathVariable Long id, WebRequest request) {
+        String etag = productService.getProductEtag(id);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        Product product = productService.getProduct(id);
+        return ResponseEntity.ok()
+                .eTag(catalogVersions.entityEtag(CatalogVersions.PRODUCTS, id, product.getVersion()))
+                .cacheControl(catalogVersions.publicCacheControl())
+                .body(product);
+    }
+
+    // Stock minus live cart reservations; not cached, since holds change without a catalog write
+    @GetMapping("/products/{id}/availability")
+    public ProductAvailabilityDto getAvailability(@PathVariable Long id) {
+        return stockReservationService.getAvailability(id);
     }
 
     // Admin only endpoint to create a product
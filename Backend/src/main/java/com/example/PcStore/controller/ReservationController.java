@@ -0,0 +1,34 @@
+package com.example.PcStore.controller;
+
+import com.example.PcStore.dto.StockReservationDto;
+import com.example.PcStore.dto.StockReservationRequestDto;
+import com.example.PcStore.service.StockReservationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/reservations")
+@CrossOrigin
+public class ReservationController {
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    // Holds stock for a cart line until checkout or until the hold expires
+    @PostMapping
+    public ResponseEntity<StockReservationDto> reserve(@RequestBody StockReservationRequestDto request,
+                                                       Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(stockReservationService.reserve(request, authentication.getName()));
+    }
+
+    // Only the user who placed the hold can release it
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> release(@PathVariable String id, Authentication authentication) {
+        stockReservationService.release(id, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
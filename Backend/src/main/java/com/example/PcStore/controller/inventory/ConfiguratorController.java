@@ -0,0 +1,21 @@
+package com.example.PcStore.controller.inventory;
+
+import com.example.PcStore.dto.inventory.BuildRequestDto;
+import com.example.PcStore.dto.inventory.BuildSearchResultDto;
+import com.example.PcStore.service.inventory.ConfiguratorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/api/configurator")
+public class ConfiguratorController {
+
+    @Autowired
+    private ConfiguratorService configuratorService;
+
+    @PostMapping(value = "/builds", consumes = "application/json", produces = "application/json")
+    public BuildSearchResultDto findBuilds(@RequestBody BuildRequestDto request) {
+        return configuratorService.findBuilds(request);
+    }
+}
@@ -2,9 +2,14 @@ package com.example.PcStore.controller.inventory;
 
 
 import com.example.PcStore.dto.inventory.PCDto;
+import com.example.PcStore.dto.inventory.PCPartsDto;
+import com.example.PcStore.service.CatalogVersions;
 import com.example.PcStore.service.inventory.PCService;
+import com.example.PcStore.service.inventory.PartService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 @CrossOrigin
@@ -15,12 +20,30 @@ public class PCController {
     @Autowired
     private PCService pcService;
 
+    @Autowired
+    private PartService partService;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     @PostMapping(value = "/pcadd", consumes = "application/json", produces = "application/json")
     public PCDto addPC(@RequestBody PCDto pcDto) {return pcService.addPC(pcDto);}
 
+    // Optional filters: brand, minPrice, maxPrice; sort: id, price, partsPrice or name, '-' for descending
     @GetMapping(value = "/")
-    public List<PCDto> getAllPCs() {
-        return pcService.getAllPCs();
+    public ResponseEntity<List<PCDto>> getAllPCs(@RequestParam(required = false) String brand,
+                                                 @RequestParam(required = false) Double minPrice,
+                                                 @RequestParam(required = false) Double maxPrice,
+                                                 @RequestParam(required = false) String sort,
+                                                 WebRequest request) {
+        String etag = pcService.getCatalogEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(catalogVersions.publicCacheControl())
+                .body(pcService.getAllPCs(brand, minPrice, maxPrice, sort));
     }
 
     @GetMapping(value = "/{pcid}")
@@ -28,6 +51,17 @@ public class PCController {
         return pcService.getPCById(pcid);
     }
 
+    @GetMapping(value = "/{pcid}/parts")
+    public PCPartsDto getPartsByPC(@PathVariable Long pcid) {
+        return partService.getPartsByPc(pcid);
+    }
+
+    // Batch variant: /api/pcs/parts?ids=1,2,3
+    @GetMapping(value = "/parts")
+    public List<PCPartsDto> getPartsByPCs(@RequestParam List<Long> ids) {
+        return partService.getPartsByPcs(ids);
+    }
+
     @PutMapping(value = "/updatepc")
     public String updatePC(@RequestBody PCDto pcDto) {
         pcService.updatePC(pcDto);
@@ -2,10 +2,15 @@ package com.example.PcStore.controller.inventory;
 
 
 
+import com.example.PcStore.dto.inventory.PartBulkResultDto;
 import com.example.PcStore.dto.inventory.PartDto;
+import com.example.PcStore.service.CatalogVersions;
+import com.example.PcStore.service.inventory.PartBulkService;
 import com.example.PcStore.service.inventory.PartService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,12 +24,38 @@ public class PartController {
     @Autowired
     private PartService partService;
 
+    @Autowired
+    private PartBulkService partBulkService;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     @PostMapping(value = "/partadd", consumes = "application/json", produces = "application/json")
     public PartDto addPart(@RequestBody PartDto partDto) {return partService.addpart(partDto);}
 
+    // Creates parts without an id and updates those with one; invalid items are reported, not fatal
+    @PostMapping(value = "/bulk", consumes = "application/json", produces = "application/json")
+    public PartBulkResultDto bulkUpsertParts(@RequestBody List<PartDto> parts) {
+        return partBulkService.upsertParts(parts);
+    }
+
+    // Optional filters: type, pcId, minPrice, maxPrice; sort: id, price, name or type, '-' for descending
     @GetMapping(value = "/")
-    public List<PartDto> getAllParts() {
-        return partService.getAllParts();
+    public ResponseEntity<List<PartDto>> getAllParts(@RequestParam(required = false) String type,
+                                                     @RequestParam(required = false) Long pcId,
+                                                     @RequestParam(required = false) Double minPrice,
+                                                     @RequestParam(required = false) Double maxPrice,
+                                                     @RequestParam(required = false) String sort,
+                                                     WebRequest request) {
+        String etag = partService.getCatalogEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        // Parts require authentication, so only the browser may keep a copy
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(catalogVersions.privateCacheControl())
+                .body(partService.getAllParts(type, pcId, minPrice, maxPrice, sort));
     }
 
     @GetMapping(value = "/{partid}")
@@ -0,0 +1,17 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySalesDto {
+
+    private String category;
+    private Long units;
+    private BigDecimal revenue;
+}
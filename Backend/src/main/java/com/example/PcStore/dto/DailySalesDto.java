@@ -0,0 +1,18 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySalesDto {
+
+    private LocalDate date;
+    private Long units;
+    private BigDecimal revenue;
+}
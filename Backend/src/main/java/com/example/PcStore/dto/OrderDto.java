@@ -1,10 +1,12 @@
 package com.example.PcStore.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
 
@@ -26,8 +28,18 @@ public class OrderDto {
 
     private String notes;
 
+    // Server-computed sum of the line totals
+    private BigDecimal total;
+
     private List<OrderItemDto> items;
 
+    // Optional cart holds from /api/reservations; checkout uses and then releases them
+    private List<String> reservationIds;
+
+    // Set by the controller from the logged-in user, never from the request body
+    @JsonIgnore
+    private String reservationOwner;
+
     // Optional: If you want manual getters/setters (not needed if using Lombok)
 
     public Long getId() {
@@ -86,6 +98,14 @@ public class OrderDto {
         this.notes = notes;
     }
 
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
     public List<OrderItemDto> getItems() {
         return items;
     }
@@ -93,4 +113,20 @@ public class OrderDto {
     public void setItems(List<OrderItemDto> items) {
         this.items = items;
     }
+
+    public List<String> getReservationIds() {
+        return reservationIds;
+    }
+
+    public void setReservationIds(List<String> reservationIds) {
+        this.reservationIds = reservationIds;
+    }
+
+    public String getReservationOwner() {
+        return reservationOwner;
+    }
+
+    public void setReservationOwner(String reservationOwner) {
+        this.reservationOwner = reservationOwner;
+    }
 }
@@ -3,6 +3,8 @@ package com.example.PcStore.dto;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderItemDto {
@@ -10,6 +12,15 @@ public class OrderItemDto {
     private Long productId;
     private int quantity;
 
+    // Set by the server from the checkout price; ignored on input
+    private BigDecimal unitPrice;
+    private BigDecimal lineTotal;
+
+    public OrderItemDto(Long productId, int quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
     // Getters and Setters
 
     public Long getProductId() {
@@ -27,4 +38,20 @@ public class OrderItemDto {
     public void setQuantity(int quantity) {
         this.quantity = quantity;
     }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public void setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+
+    public BigDecimal getLineTotal() {
+        return lineTotal;
+    }
+
+    public void setLineTotal(BigDecimal lineTotal) {
+        this.lineTotal = lineTotal;
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLineErrorDto {
+
+    // 1-based position of the line in the submitted order
+    private int line;
+    private Long productId;
+    private String message;
+}
@@ -0,0 +1,23 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDto {
+
+    // Newest first
+    private List<OrderDto> items;
+
+    // Pass back as ?cursor= for the next page, null on the last page
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    private int limit;
+}
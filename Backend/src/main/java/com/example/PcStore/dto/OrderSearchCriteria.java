@@ -0,0 +1,20 @@
+package com.example.PcStore.dto;
+
+import com.example.PcStore.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSearchCriteria {
+
+    // Null means "any"
+    private OrderStatus status;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private String customerEmail;
+}
@@ -0,0 +1,20 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusTransitionDto {
+
+    // Status names or display names, e.g. "PROCESSING" -> "Shipped"
+    private String from;
+    private String to;
+
+    // Optional; when empty every order currently in "from" is moved
+    private List<Long> orderIds;
+}
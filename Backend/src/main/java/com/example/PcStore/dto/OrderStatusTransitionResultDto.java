@@ -0,0 +1,20 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusTransitionResultDto {
+
+    private String from;
+    private String to;
+
+    // Number of ids sent, or null when the whole status was moved
+    private Integer requested;
+
+    // Orders that were in "from" and are now in "to"; requested ids in any other status are left alone
+    private int updated;
+}
@@ -0,0 +1,35 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTicketDto {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String COMMITTED = "COMMITTED";
+    public static final String REJECTED = "REJECTED";
+    public static final String FAILED = "FAILED";
+
+    private String ticketId;
+
+    // QUEUED until the intake worker commits or rejects the order
+    private String status;
+
+    // Set once COMMITTED
+    private Long orderId;
+
+    private String message;
+
+    private List<OrderLineErrorDto> lineErrors;
+
+    private Instant submittedAt;
+
+    private Instant completedAt;
+}
@@ -0,0 +1,21 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceBucketDto {
+
+    // Inclusive lower bound, null for the first bucket
+    private BigDecimal min;
+
+    // Exclusive upper bound, null for the last bucket
+    private BigDecimal max;
+
+    private long count;
+}
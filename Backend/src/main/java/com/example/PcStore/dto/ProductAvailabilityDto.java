@@ -0,0 +1,19 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductAvailabilityDto {
+
+    private Long productId;
+    private int stock;
+
+    // Held by unexpired cart reservations
+    private int reserved;
+
+    private int available;
+}
@@ -0,0 +1,38 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResultDto {
+
+    private int totalRows;
+
+    // Rows without an id, inserted as new products
+    private int inserted;
+
+    // Rows carrying an id, inserted or updated in place
+    private int upserted;
+
+    private int failed;
+
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // 1-based data row number, not counting a CSV header
+        private int row;
+        private String message;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageDto<T> {
+
+    private List<T> items;
+
+    // Opaque cursor to pass back as ?cursor= for the next page, null on the last page
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    private String sort;
+
+    private int limit;
+}
@@ -0,0 +1,18 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesDto {
+
+    private Long productId;
+    private String productName;
+    private Long units;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,28 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchCriteria {
+
+    // Null or empty means "any"
+    private List<String> categories;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Boolean inStock;
+
+    public ProductSearchCriteria withoutCategories() {
+        return new ProductSearchCriteria(null, minPrice, maxPrice, inStock);
+    }
+
+    public ProductSearchCriteria withoutPriceRange() {
+        return new ProductSearchCriteria(categories, null, null, inStock);
+    }
+}
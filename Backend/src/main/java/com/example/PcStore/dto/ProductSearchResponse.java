@@ -0,0 +1,24 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResponse<T> {
+
+    private List<T> items;
+
+    private long total;
+    private int page;
+    private int size;
+
+    // Facet counts ignore their own filter so the UI can show alternatives
+    private Map<String, Long> categoryFacets;
+    private List<PriceBucketDto> priceFacets;
+}
@@ -0,0 +1,35 @@
+package com.example.PcStore.dto;
+
+import com.example.PcStore.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Catalog list row: a clipped description and no associations, built directly by JPQL constructor queries
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummaryDto {
+
+    // Enough for the two lines a catalog card shows
+    public static final int SHORT_DESCRIPTION_LENGTH = 160;
+
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private Integer stock;
+    private String category;
+    private String imageUrl;
+    private String shortDescription;
+
+    public static ProductSummaryDto from(Product product) {
+        String description = product.getDescription();
+        if (description != null && description.length() > SHORT_DESCRIPTION_LENGTH) {
+            description = description.substring(0, SHORT_DESCRIPTION_LENGTH);
+        }
+        return new ProductSummaryDto(product.getId(), product.getName(), product.getPrice(),
+                product.getStock(), product.getCategory(), product.getImageUrl(), description);
+    }
+}
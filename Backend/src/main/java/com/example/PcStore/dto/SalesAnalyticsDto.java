@@ -0,0 +1,29 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesAnalyticsDto {
+
+    // Inclusive range the figures cover
+    private LocalDate from;
+    private LocalDate to;
+
+    private long totalUnits;
+    private BigDecimal totalRevenue;
+
+    // Only days with sales, oldest first
+    private List<DailySalesDto> days;
+
+    // Highest revenue first
+    private List<CategorySalesDto> categories;
+    private List<ProductSalesDto> topProducts;
+}
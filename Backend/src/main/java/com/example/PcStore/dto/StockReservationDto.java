@@ -0,0 +1,19 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationDto {
+
+    // Pass back in OrderDto.reservationIds at checkout
+    private String id;
+    private Long productId;
+    private int quantity;
+    private LocalDateTime expiresAt;
+}
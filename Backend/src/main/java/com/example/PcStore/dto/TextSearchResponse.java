@@ -0,0 +1,22 @@
+package com.example.PcStore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextSearchResponse<T> {
+
+    private String query;
+
+    // Ranked best match first
+    private List<T> items;
+
+    private long total;
+    private int page;
+    private int size;
+}
@@ -0,0 +1,15 @@
+package com.example.PcStore.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuildDto {
+    private double totalPrice;
+    private List<PartDto> parts;
+}
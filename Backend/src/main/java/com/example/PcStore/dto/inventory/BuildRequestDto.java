@@ -0,0 +1,23 @@
+package com.example.PcStore.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuildRequestDto {
+    private Double budget;
+    // One part of each of these types, e.g. CPU, GPU, RAM
+    private List<String> requiredTypes;
+    // Only parts from PCs of these brands; empty means any brand
+    private List<String> brands;
+    // Upper price limit for any single part
+    private Double maxPartPrice;
+    // Take every part from the same brand
+    private boolean sameBrand;
+    private Integer limit;
+}
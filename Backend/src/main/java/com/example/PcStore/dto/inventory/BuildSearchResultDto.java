@@ -0,0 +1,19 @@
+package com.example.PcStore.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuildSearchResultDto {
+    private List<BuildDto> builds;
+    // False when the time budget ran out; the builds are then the best found in time
+    private boolean complete;
+    private int candidates;
+    private long nodesVisited;
+    private long elapsedMillis;
+}
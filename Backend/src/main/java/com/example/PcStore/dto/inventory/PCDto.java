@@ -12,6 +12,8 @@ public class PCDto {
     private String name;
     private String brand;
     private double price;
+    private double partsPrice;
+    private int partCount;
 
     public Long getId() {
         return id;
@@ -44,4 +46,20 @@ public class PCDto {
     public void setPrice(double price) {
         this.price = price;
     }
+
+    public double getPartsPrice() {
+        return partsPrice;
+    }
+
+    public void setPartsPrice(double partsPrice) {
+        this.partsPrice = partsPrice;
+    }
+
+    public int getPartCount() {
+        return partCount;
+    }
+
+    public void setPartCount(int partCount) {
+        this.partCount = partCount;
+    }
 }
@@ -0,0 +1,18 @@
+package com.example.PcStore.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One PC's parts, grouped by type
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PCPartsDto {
+    private Long pcId;
+    private int partCount;
+    private double subtotal;
+    private List<PartTypeGroupDto> groups;
+}
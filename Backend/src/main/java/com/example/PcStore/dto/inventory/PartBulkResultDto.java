@@ -0,0 +1,34 @@
+package com.example.PcStore.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartBulkResultDto {
+
+    private int total;
+    private int created;
+    private int updated;
+    private int rejected;
+
+    // One entry per submitted part, in request order
+    private List<Item> results = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        // 0-based position in the request
+        private int index;
+        private Long id;
+        // CREATED, UPDATED or REJECTED
+        private String status;
+        private String message;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.PcStore.dto.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartTypeGroupDto {
+    private String type;
+    private double subtotal;
+    private List<PartDto> parts;
+}
@@ -0,0 +1,9 @@
+package com.example.PcStore.exception;
+
+// Thrown when the async order queue is at capacity; the client should retry shortly
+public class OrderIntakeFullException extends RuntimeException {
+
+    public OrderIntakeFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.PcStore.exception;
+
+import com.example.PcStore.dto.OrderLineErrorDto;
+
+import java.util.List;
+
+// Thrown when one or more order lines fail validation; carries every failing line, not just the first
+public class OrderLinesRejectedException extends IllegalArgumentException {
+
+    private final List<OrderLineErrorDto> lineErrors;
+
+    public OrderLinesRejectedException(List<OrderLineErrorDto> lineErrors) {
+        super(lineErrors.size() + " order line(s) could not be fulfilled");
+        this.lineErrors = List.copyOf(lineErrors);
+    }
+
+    public List<OrderLineErrorDto> getLineErrors() {
+        return lineErrors;
+    }
+}
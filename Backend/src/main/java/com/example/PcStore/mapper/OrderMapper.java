@@ -0,0 +1,77 @@
+package com.example.PcStore.mapper;
+
+import com.example.PcStore.dto.OrderDto;
+import com.example.PcStore.dto.OrderItemDto;
+import com.example.PcStore.model.ArchivedOrder;
+import com.example.PcStore.model.ArchivedOrderItem;
+import com.example.PcStore.model.Order;
+import com.example.PcStore.model.OrderItem;
+import com.example.PcStore.model.enums.OrderStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hand-written Order/OrderItem <-> DTO mapping; replaces reflective ModelMapper calls on the order paths
+@Component
+public class OrderMapper {
+
+    public OrderDto toDto(Order order) {
+        OrderDto dto = new OrderDto();
+        dto.setId(order.getId());
+        dto.setCustomerName(order.getCustomerName());
+        dto.setCustomerEmail(order.getCustomerEmail());
+        dto.setCustomerPhone(order.getCustomerPhone());
+        dto.setOrderDate(order.getOrderDate());
+        // Display name, as the storefront has always sent and shown it
+        dto.setStatus(order.getStatus() == null ? null : order.getStatus().getDisplayName());
+        dto.setNotes(order.getNotes());
+        dto.setTotal(order.getTotal());
+        List<OrderItem> items = order.getItems();
+        if (items != null) {
+            List<OrderItemDto> itemDtos = new ArrayList<>(items.size());
+            for (OrderItem item : items) {
+                itemDtos.add(toDto(item));
+            }
+            dto.setItems(itemDtos);
+        }
+        return dto;
+    }
+
+    public OrderItemDto toDto(OrderItem item) {
+        // getId() on a lazy product proxy returns the key without loading the row
+        Long productId = item.getProduct() != null ? item.getProduct().getId() : null;
+        return new OrderItemDto(productId, item.getQuantity(), item.getUnitPrice(), item.getLineTotal());
+    }
+
+    public OrderDto toDto(ArchivedOrder order) {
+        OrderDto dto = new OrderDto();
+        dto.setId(order.getId());
+        dto.setCustomerName(order.getCustomerName());
+        dto.setCustomerEmail(order.getCustomerEmail());
+        dto.setCustomerPhone(order.getCustomerPhone());
+        dto.setOrderDate(order.getOrderDate());
+        dto.setStatus(order.getStatus() == null ? null : order.getStatus().getDisplayName());
+        dto.setNotes(order.getNotes());
+        dto.setTotal(order.getTotal());
+        List<OrderItemDto> itemDtos = new ArrayList<>(order.getItems().size());
+        for (ArchivedOrderItem item : order.getItems()) {
+            itemDtos.add(new OrderItemDto(item.getProductId(), item.getQuantity(), item.getUnitPrice(),
+                    item.getLineTotal()));
+        }
+        dto.setItems(itemDtos);
+        return dto;
+    }
+
+    // Header fields of a new order; the id is generated and items are built against locked products
+    public Order toEntity(OrderDto dto) {
+        Order order = new Order();
+        order.setCustomerName(dto.getCustomerName());
+        order.setCustomerEmail(dto.getCustomerEmail());
+        order.setCustomerPhone(dto.getCustomerPhone());
+        order.setOrderDate(dto.getOrderDate());
+        order.setStatus(OrderStatus.fromValue(dto.getStatus()));
+        order.setNotes(dto.getNotes());
+        return order;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.PcStore.mapper.inventory;
+
+import com.example.PcStore.dto.inventory.PCDto;
+import com.example.PcStore.model.inventory.PC;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PCMapper {
+
+    public PCDto toDto(PC pc) {
+        return new PCDto(pc.getId(), pc.getName(), pc.getBrand(), pc.getPrice(), pc.getPartsPrice(), pc.getPartCount());
+    }
+
+    public PC toEntity(PCDto dto) {
+        PC pc = new PC();
+        pc.setId(dto.getId());
+        pc.setName(dto.getName());
+        pc.setBrand(dto.getBrand());
+        pc.setPrice(dto.getPrice());
+        return pc;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.PcStore.mapper.inventory;
+
+import com.example.PcStore.dto.inventory.PCPartsDto;
+import com.example.PcStore.dto.inventory.PartDto;
+import com.example.PcStore.dto.inventory.PartTypeGroupDto;
+import com.example.PcStore.model.inventory.PC;
+import com.example.PcStore.model.inventory.pcPart;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class PartMapper {
+
+    public PartDto toDto(pcPart part) {
+        // getId() on a lazy PC proxy returns the key without loading the row
+        Long pcId = part.getPc() != null ? part.getPc().getId() : null;
+        return new PartDto(part.getId(), part.getPartName(), part.getType(), pcId, part.getPrice());
+    }
+
+    // Groups one PC's parts by type, keeping the order they were read in
+    public PCPartsDto toPCParts(Long pcId, List<pcPart> parts) {
+        Map<String, PartTypeGroupDto> groups = new LinkedHashMap<>();
+        double subtotal = 0;
+        for (pcPart part : parts) {
+            PartTypeGroupDto group = groups.computeIfAbsent(part.getType(),
+                    type -> new PartTypeGroupDto(type, 0, new ArrayList<>()));
+            group.getParts().add(toDto(part));
+            group.setSubtotal(group.getSubtotal() + part.getPrice());
+            subtotal += part.getPrice();
+        }
+        return new PCPartsDto(pcId, parts.size(), subtotal, new ArrayList<>(groups.values()));
+    }
+
+    // Copies the editable fields onto a new or managed part
+    public void copyToEntity(PartDto dto, PC pc, pcPart part) {
+        part.setPartName(dto.getPartName());
+        part.setType(dto.getType());
+        part.setPc(pc);
+        part.setPrice(dto.getPrice());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.PcStore.model;
+
+import com.example.PcStore.model.enums.OrderStatus;
+import com.example.PcStore.model.enums.OrderStatusConverter;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+// Read-only copy of an order moved out of the live table by OrderArchiveService; keeps its original id
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_email_id", columnList = "customer_email, id")
+})
+@NamedEntityGraph(name = "ArchivedOrder.items", attributeNodes = @NamedAttributeNode("items"))
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+    private String customerName;
+    private String customerEmail;
+    private String customerPhone;
+    @Temporal(TemporalType.DATE)
+    private Date orderDate;
+    @Convert(converter = OrderStatusConverter.class)
+    @Column(length = 20)
+    private OrderStatus status;
+    private String notes;
+    @Column(precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    @OneToMany(mappedBy = "order")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<ArchivedOrderItem> items;
+}
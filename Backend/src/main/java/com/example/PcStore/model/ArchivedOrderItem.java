@@ -0,0 +1,41 @@
+package com.example.PcStore.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "order_item_archive", indexes = {
+        @Index(name = "idx_order_item_archive_order_id", columnList = "order_id")
+})
+public class ArchivedOrderItem {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ArchivedOrder order;
+
+    // Plain id rather than a relation, so products can still be deleted after their orders are archived
+    @Column(name = "product_id")
+    private Long productId;
+
+    private int quantity;
+
+    @Column(name = "unit_price", precision = 19, scale = 2)
+    private BigDecimal unitPrice;
+
+    @Column(name = "line_total", precision = 19, scale = 2)
+    private BigDecimal lineTotal;
+}
@@ -0,0 +1,55 @@
+package com.example.PcStore.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Units and revenue sold per product per day. Maintained incrementally by
+ * SalesRollupService as orders are created and deleted, so dashboard queries
+ * read this table instead of joining orders, items and products.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "daily_sales_rollups")
+@IdClass(DailySalesRollup.Key.class)
+public class DailySalesRollup {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    // Name and category as they were at the time of the first sale that day
+    @Column(name = "product_name")
+    private String productName;
+
+    private String category;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "order_lines", nullable = false)
+    private Long orderLines;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate salesDate;
+        private Long productId;
+    }
+}
@@ -2,21 +2,32 @@ package com.example.PcStore.model;
 
 
 
+import com.example.PcStore.model.enums.OrderStatus;
+import com.example.PcStore.model.enums.OrderStatusConverter;
 import com.example.PcStore.model.inventory.PC;
 import com.example.PcStore.model.inventory.pcPart;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
+import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
 @NoArgsConstructor
 @Data
 @AllArgsConstructor
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // Admin listing filters, each paired with id for newest-first keyset paging
+        @Index(name = "idx_orders_status_id", columnList = "status, id"),
+        @Index(name = "idx_orders_email_id", columnList = "customer_email, id"),
+        @Index(name = "idx_orders_date_id", columnList = "order_date, id")
+})
+@NamedEntityGraph(name = "Order.items", attributeNodes = @NamedAttributeNode("items"))
 public class Order {
 
     @Id
@@ -28,10 +39,18 @@ public class Order {
     @JsonFormat(pattern = "yyyy-MM-dd")
     @Temporal(TemporalType.DATE)
     private Date orderDate;
-    private String status;
+    @Convert(converter = OrderStatusConverter.class)
+    @Column(length = 20)
+    private OrderStatus status;
     private String notes;
 
+    // Sum of the line totals, fixed at checkout
+    @Column(precision = 19, scale = 2)
+    private BigDecimal total;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<OrderItem> items;
 
     public List<OrderItem> getItems() {
@@ -88,11 +107,11 @@ public class Order {
     }
 
 
-    public String getStatus() {
+    public OrderStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(OrderStatus status) {
         this.status = status;
     }
 
@@ -107,4 +126,12 @@ public class Order {
     public void setNotes(String notes) {
         this.notes = notes;
     }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
 }
@@ -0,0 +1,34 @@
+package com.example.PcStore.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Durable record of an Idempotency-Key and the order it created, written in the same transaction as the order.
+// The key column holds SHA-256 of the user and the client's key, so each user has their own key space.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "order_idempotency_keys", indexes = {
+        @Index(name = "idx_order_idempotency_created_at", columnList = "created_at")
+})
+public class OrderIdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    // SHA-256 of the request body, so a key reused for a different order is refused
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -4,7 +4,13 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // Backing indexes for keyset pagination by price and name
+        @Index(name = "idx_products_price_id", columnList = "price, id"),
+        @Index(name = "idx_products_name_id", columnList = "name, id"),
+        // Faceted search filters by category first, then price range
+        @Index(name = "idx_products_category_price", columnList = "category, price")
+})
 public class Product {
     
     @Id
@@ -29,7 +35,12 @@ public class Product {
     @Column(name = "image_url")
     private String imageUrl;
 
-    @ManyToOne
+    // Bumped on every update; also serves as the ETag of /api/products/{id}
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id")
     private Order order;
     // Default constructor
@@ -91,4 +102,12 @@ public class Product {
     public void setImageUrl(String imageUrl) {
         this.imageUrl = imageUrl;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,36 @@
+package com.example.PcStore.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Persisted copy of a cart hold so the in-memory ledger can be rebuilt after a restart
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "stock_reservations", indexes = {
+        @Index(name = "idx_stock_reservations_expires_at", columnList = "expires_at")
+})
+public class StockReservation {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // User who placed the hold; only they can release it or check out with it
+    @Column(length = 100)
+    private String owner;
+}
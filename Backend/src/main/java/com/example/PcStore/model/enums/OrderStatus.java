@@ -1,5 +1,12 @@
 package com.example.PcStore.model.enums;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING("Pending"),
     PROCESSING("Processing"),
@@ -8,6 +15,28 @@ public enum OrderStatus {
     CANCELLED("Cancelled"),
     RETURNED("Returned"), COMPLETED("Completed");
 
+    // The only place order status transitions are defined; single and bulk updates both check it
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(PROCESSING, CANCELLED));
+        TRANSITIONS.put(PROCESSING, EnumSet.of(SHIPPED, CANCELLED));
+        TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED, RETURNED));
+        TRANSITIONS.put(DELIVERED, EnumSet.of(COMPLETED, RETURNED));
+        TRANSITIONS.put(COMPLETED, EnumSet.of(RETURNED));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(RETURNED, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    // Values the free-form status column held before it was an enum, read as their closest status
+    private static final Map<String, OrderStatus> LEGACY_VALUES = new HashMap<>();
+
+    static {
+        LEGACY_VALUES.put("FAILED", CANCELLED);
+        LEGACY_VALUES.put("CANCELED", CANCELLED);
+        LEGACY_VALUES.put("COMPLETE", COMPLETED);
+    }
+
     private final String displayName;
 
     OrderStatus(String displayName) {
@@ -17,4 +46,38 @@ public enum OrderStatus {
     public String getDisplayName() {
         return displayName;
     }
-}
\ No newline at end of file
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+
+    /**
+     * Matches the constant name or the display name, ignoring case and surrounding
+     * whitespace ("PROCESSING", "Processing", " processing "), plus the legacy values
+     * in LEGACY_VALUES. Throws for anything else.
+     */
+    public static OrderStatus fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        OrderStatus status = lookup(value);
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown order status: " + value);
+        }
+        return status;
+    }
+
+    // Same matching as fromValue, but returns null for an unknown value
+    public static OrderStatus lookup(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        for (OrderStatus status : values()) {
+            if (status.name().equalsIgnoreCase(trimmed) || status.displayName.equalsIgnoreCase(trimmed)) {
+                return status;
+            }
+        }
+        return LEGACY_VALUES.get(trimmed.toUpperCase(Locale.ROOT));
+    }
+}
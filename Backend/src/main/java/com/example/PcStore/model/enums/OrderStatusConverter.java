@@ -0,0 +1,40 @@
+package com.example.PcStore.model.enums;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the constant name. Reads rows saved while the column was free-form text:
+ * display names and known legacy values map to a status, and anything else reads
+ * as no status so one odd row cannot break every order page.
+ */
+@Converter
+public class OrderStatusConverter implements AttributeConverter<OrderStatus, String> {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusConverter.class);
+
+    // Each unknown value is logged once rather than on every read
+    private static final Set<String> reportedValues = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public String convertToDatabaseColumn(OrderStatus status) {
+        return status == null ? null : status.name();
+    }
+
+    @Override
+    public OrderStatus convertToEntityAttribute(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        OrderStatus status = OrderStatus.lookup(value);
+        if (status == null && reportedValues.add(value)) {
+            log.warn("Unknown order status '{}' in the orders table; reading it as no status", value);
+        }
+        return status;
+    }
+}
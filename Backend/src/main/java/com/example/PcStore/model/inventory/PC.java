@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.repository.query.parser.Part;
 
 import java.util.List;
@@ -23,6 +24,20 @@ public class PC {
     private String brand;
     private double price;
 
+    // Sum and count of this PC's parts. Kept up to date by SQL as parts change, so JPA never writes them
+    // @ColumnDefault rather than columnDefinition: Hibernate copies the definition into casts in update queries
+    @Column(name = "parts_price", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private double partsPrice;
+
+    @Column(name = "part_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int partCount;
+
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
     public Long getId() {
         return id;
     }
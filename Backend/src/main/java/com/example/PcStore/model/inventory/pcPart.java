@@ -4,13 +4,18 @@ import com.example.PcStore.dto.inventory.PartDto;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
-
+// Parts are read per PC, so (pc_id, type) serves both the lookup and the grouping order
+@Table(name = "pc_part", indexes = {
+        @Index(name = "idx_pc_part_pc_id_type", columnList = "pc_id, type")
+})
 public class pcPart {
 
     @Id
@@ -20,10 +25,17 @@ public class pcPart {
     private String partName;
     private String type; // CPU, GPU, RAM, etc.
     private double price;
-    @ManyToOne
+    // Lazy: part views only need pc.id, which the proxy carries without loading the PC row
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pc_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private PC pc;
 
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
 
     public void setPartName(String partName) {
         this.partName = partName;
@@ -0,0 +1,18 @@
+package com.example.PcStore.repository;
+
+import com.example.PcStore.model.ArchivedOrder;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    @EntityGraph("ArchivedOrder.items")
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.id = :id")
+    Optional<ArchivedOrder> findWithItemsById(@Param("id") Long id);
+}
@@ -0,0 +1,34 @@
+package com.example.PcStore.repository;
+
+import com.example.PcStore.dto.CategorySalesDto;
+import com.example.PcStore.dto.DailySalesDto;
+import com.example.PcStore.dto.ProductSalesDto;
+import com.example.PcStore.model.DailySalesRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Dashboard reads; each is a range scan on the (sales_date, product_id) primary key
+@Repository
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, DailySalesRollup.Key> {
+
+    @Query("SELECT new com.example.PcStore.dto.DailySalesDto(r.salesDate, SUM(r.units), SUM(r.revenue)) " +
+            "FROM DailySalesRollup r WHERE r.salesDate BETWEEN :from AND :to " +
+            "GROUP BY r.salesDate HAVING SUM(r.units) > 0 ORDER BY r.salesDate")
+    List<DailySalesDto> findDailyTotals(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.example.PcStore.dto.CategorySalesDto(r.category, SUM(r.units), SUM(r.revenue)) " +
+            "FROM DailySalesRollup r WHERE r.salesDate BETWEEN :from AND :to " +
+            "GROUP BY r.category HAVING SUM(r.units) > 0 ORDER BY SUM(r.revenue) DESC")
+    List<CategorySalesDto> findCategoryTotals(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.example.PcStore.dto.ProductSalesDto(r.productId, MAX(r.productName), SUM(r.units), SUM(r.revenue)) " +
+            "FROM DailySalesRollup r WHERE r.salesDate BETWEEN :from AND :to " +
+            "GROUP BY r.productId HAVING SUM(r.units) > 0 ORDER BY SUM(r.revenue) DESC, r.productId")
+    List<ProductSalesDto> findTopProducts(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+}
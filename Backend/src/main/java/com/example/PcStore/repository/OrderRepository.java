@@ -1,10 +1,50 @@
 package com.example.PcStore.repository;
 
 import com.example.PcStore.model.Order;
+import com.example.PcStore.model.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSearchRepository {
     // You can add custom query methods here if needed
+
+    // Orders with their items in one query; item products stay lazy since only their ids are mapped
+    @EntityGraph("Order.items")
+    @Query("SELECT DISTINCT o FROM Order o")
+    List<Order> findAllWithItems();
+
+    @EntityGraph("Order.items")
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") Long id);
+
+    // Phase two of the admin listing: one fetch-join for the page's ids
+    @EntityGraph("Order.items")
+    @Query("SELECT DISTINCT o FROM Order o WHERE o.id IN :ids ORDER BY o.id DESC")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Archival candidates, oldest ids first; served by the (order_date, id) index
+    @Query("SELECT o.id FROM Order o WHERE o.orderDate < :cutoff AND o.status IN :statuses ORDER BY o.id")
+    List<Long> findArchivableIds(@Param("cutoff") Date cutoff, @Param("statuses") Collection<OrderStatus> statuses,
+                                 Pageable pageable);
+
+    // Set-based status moves; the "from" guard keeps orders that changed meanwhile untouched
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to WHERE o.status = :from")
+    int updateStatus(@Param("from") OrderStatus from, @Param("to") OrderStatus to);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to WHERE o.status = :from AND o.id IN :ids")
+    int updateStatusByIdIn(@Param("from") OrderStatus from, @Param("to") OrderStatus to,
+                           @Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
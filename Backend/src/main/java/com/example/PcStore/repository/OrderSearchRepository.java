@@ -0,0 +1,11 @@
+package com.example.PcStore.repository;
+
+import com.example.PcStore.dto.OrderSearchCriteria;
+
+import java.util.List;
+
+public interface OrderSearchRepository {
+
+    // Ids of matching orders below beforeId (all when null), highest id first
+    List<Long> findPageIds(OrderSearchCriteria criteria, Long beforeId, int limit);
+}
@@ -0,0 +1,51 @@
+package com.example.PcStore.repository;
+
+import com.example.PcStore.dto.OrderSearchCriteria;
+import com.example.PcStore.model.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+// Criteria-based fragment of OrderRepository: phase one of the admin listing selects ids only,
+// so the limit applies in SQL; items are fetch-joined afterwards for just those ids
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findPageIds(OrderSearchCriteria criteria, Long beforeId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> order = query.from(Order.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (beforeId != null) {
+            predicates.add(cb.lessThan(order.get("id"), beforeId));
+        }
+        if (criteria.getStatus() != null) {
+            predicates.add(cb.equal(order.get("status"), criteria.getStatus()));
+        }
+        if (criteria.getFromDate() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("orderDate"), Date.valueOf(criteria.getFromDate())));
+        }
+        if (criteria.getToDate() != null) {
+            predicates.add(cb.lessThanOrEqualTo(order.get("orderDate"), Date.valueOf(criteria.getToDate())));
+        }
+        if (criteria.getCustomerEmail() != null) {
+            predicates.add(cb.equal(order.get("customerEmail"), criteria.getCustomerEmail()));
+        }
+
+        query.select(order.get("id"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(order.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
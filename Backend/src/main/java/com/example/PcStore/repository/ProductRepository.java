@@ -1,11 +1,86 @@
 package com.example.PcStore.repository;
 
+import com.example.PcStore.dto.ProductSummaryDto;
 import com.example.PcStore.model.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductSearchRepository {
     // Basic CRUD operations are automatically provided by JpaRepository
-    // We can add custom query methods here if needed in the future
-} 
\ No newline at end of file
+
+    // Single-statement conditional decrement: returns 0 when the product is missing or short on stock,
+    // so concurrent checkouts cannot oversell and no read-modify-write round trip is needed
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity, p.version = p.version + 1 " +
+           "WHERE p.id = :id AND p.stock >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :quantity, p.version = p.version + 1 WHERE p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // Locks every row of a checkout in one statement; ascending id order keeps lock acquisition
+    // consistent across concurrent orders so they queue instead of deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id ASC")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.stock FROM Product p WHERE p.id = :id")
+    Optional<Integer> findStockById(@Param("id") Long id);
+
+    // Lets conditional GETs compare ETags without hydrating the entity
+    @Query("SELECT p.version FROM Product p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Forward-only stream for exports. Integer.MIN_VALUE makes MySQL Connector/J stream rows
+    // one at a time instead of buffering the whole result set; callers must hold a transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT p FROM Product p ORDER BY p.id ASC")
+    Stream<Product> streamAllForExport();
+
+    // Summary rows for list views: only the columns a catalog card needs, the description clipped, no joins
+    String SUMMARY_SELECT = "SELECT new com.example.PcStore.dto.ProductSummaryDto(" +
+            "p.id, p.name, p.price, p.stock, p.category, p.imageUrl, " +
+            "SUBSTRING(p.description, 1, " + ProductSummaryDto.SHORT_DESCRIPTION_LENGTH + ")) FROM Product p";
+
+    @Query(SUMMARY_SELECT + " ORDER BY p.id ASC")
+    List<ProductSummaryDto> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + " WHERE p.id IN :ids")
+    List<ProductSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset (cursor) pagination - every query orders by a unique (key, id) pair
+    // so pages stay stable while products are added or removed
+    @Query(SUMMARY_SELECT + " WHERE p.id > :afterId ORDER BY p.id ASC")
+    List<ProductSummaryDto> findPageById(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " ORDER BY p.price ASC, p.id ASC")
+    List<ProductSummaryDto> findFirstPageByPrice(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE p.price > :price OR (p.price = :price AND p.id > :afterId) " +
+           "ORDER BY p.price ASC, p.id ASC")
+    List<ProductSummaryDto> findPageByPrice(@Param("price") BigDecimal price, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " ORDER BY p.name ASC, p.id ASC")
+    List<ProductSummaryDto> findFirstPageByName(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE p.name > :name OR (p.name = :name AND p.id > :afterId) " +
+           "ORDER BY p.name ASC, p.id ASC")
+    List<ProductSummaryDto> findPageByName(@Param("name") String name, @Param("afterId") Long afterId, Pageable pageable);
+}
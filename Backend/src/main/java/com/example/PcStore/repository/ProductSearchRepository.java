@@ -0,0 +1,22 @@
+package com.example.PcStore.repository;
+
+import com.example.PcStore.dto.ProductSearchCriteria;
+import com.example.PcStore.dto.ProductSummaryDto;
+import com.example.PcStore.model.Product;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public interface ProductSearchRepository {
+
+    List<ProductSummaryDto> search(ProductSearchCriteria criteria, Pageable pageable);
+
+    long countMatching(ProductSearchCriteria criteria);
+
+    Map<String, Long> countByCategory(ProductSearchCriteria criteria);
+
+    // One count per bucket: [< b0], [b0, b1), ..., [>= bN-1]
+    long[] countByPriceBuckets(ProductSearchCriteria criteria, List<BigDecimal> boundaries);
+}
@@ -0,0 +1,126 @@
+package com.example.PcStore.repository;
+
+import com.example.PcStore.dto.ProductSearchCriteria;
+import com.example.PcStore.dto.ProductSummaryDto;
+import com.example.PcStore.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Criteria-based fragment of ProductRepository: only the filters actually supplied end up in the SQL
+public class ProductSearchRepositoryImpl implements ProductSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductSummaryDto> search(ProductSearchCriteria criteria, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummaryDto> query = cb.createQuery(ProductSummaryDto.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.construct(ProductSummaryDto.class,
+                        product.get("id"), product.get("name"), product.get("price"),
+                        product.get("stock"), product.get("category"), product.get("imageUrl"),
+                        cb.substring(product.get("description"), 1, ProductSummaryDto.SHORT_DESCRIPTION_LENGTH)))
+                .where(toPredicates(criteria, cb, product));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), product, cb));
+        }
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public long countMatching(ProductSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.count(product)).where(toPredicates(criteria, cb, product));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public Map<String, Long> countByCategory(ProductSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+        Expression<String> category = product.get("category");
+        query.multiselect(category, cb.count(product))
+                .where(toPredicates(criteria, cb, product))
+                .groupBy(category)
+                .orderBy(cb.asc(category));
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            counts.put(row.get(0, String.class), row.get(1, Long.class));
+        }
+        return counts;
+    }
+
+    @Override
+    public long[] countByPriceBuckets(ProductSearchCriteria criteria, List<BigDecimal> boundaries) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+        Expression<BigDecimal> price = product.get("price");
+
+        // A single pass computing SUM(CASE WHEN bucket THEN 1 ELSE 0 END) per bucket
+        List<Selection<?>> sums = new ArrayList<>();
+        for (int i = 0; i <= boundaries.size(); i++) {
+            List<Predicate> inBucket = new ArrayList<>();
+            if (i > 0) {
+                inBucket.add(cb.greaterThanOrEqualTo(price, boundaries.get(i - 1)));
+            }
+            if (i < boundaries.size()) {
+                inBucket.add(cb.lessThan(price, boundaries.get(i)));
+            }
+            sums.add(cb.sum(cb.<Long>selectCase()
+                    .when(cb.and(inBucket.toArray(new Predicate[0])), 1L)
+                    .otherwise(0L)));
+        }
+        query.multiselect(sums).where(toPredicates(criteria, cb, product));
+
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+        long[] counts = new long[boundaries.size() + 1];
+        for (int i = 0; i < counts.length; i++) {
+            Number value = (Number) row.get(i);
+            counts[i] = value == null ? 0 : value.longValue();
+        }
+        return counts;
+    }
+
+    private Predicate[] toPredicates(ProductSearchCriteria criteria, CriteriaBuilder cb, Root<Product> product) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getCategories() != null && !criteria.getCategories().isEmpty()) {
+            predicates.add(product.get("category").in(criteria.getCategories()));
+        }
+        if (criteria.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(product.get("price"), criteria.getMinPrice()));
+        }
+        if (criteria.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(product.get("price"), criteria.getMaxPrice()));
+        }
+        if (Boolean.TRUE.equals(criteria.getInStock())) {
+            predicates.add(cb.greaterThan(product.get("stock"), 0));
+        } else if (Boolean.FALSE.equals(criteria.getInStock())) {
+            predicates.add(cb.lessThanOrEqualTo(product.get("stock"), 0));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.PcStore.repository;
+
+import com.example.PcStore.model.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+
+    List<StockReservation> findByExpiresAtAfter(LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -4,11 +4,28 @@ package com.example.PcStore.repository.inventory;
 
 import com.example.PcStore.model.inventory.PC;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.web.bind.annotation.PathVariable;
 
 public interface PCRepository extends JpaRepository<PC, Long> {
 
     @Query(value = "select * from pc where id=?1 ",nativeQuery = true)
     PC detailpcbyid(@PathVariable Long pcid);
+
+    // Relative update, so concurrent part changes on one PC add up instead of overwriting each other
+    @Modifying(flushAutomatically = true)
+    @Query("update PC p set p.partsPrice = p.partsPrice + :price, p.partCount = p.partCount + :count where p.id = :pcId")
+    int adjustPartTotals(@Param("pcId") Long pcId, @Param("price") double price, @Param("count") int count);
+
+    // Recomputes the part totals of every PC that has drifted; returns how many were corrected
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE pc SET " +
+            "parts_price = COALESCE((SELECT SUM(p.price) FROM pc_part p WHERE p.pc_id = pc.id), 0), " +
+            "part_count = (SELECT COUNT(*) FROM pc_part p WHERE p.pc_id = pc.id) " +
+            "WHERE part_count <> (SELECT COUNT(*) FROM pc_part p WHERE p.pc_id = pc.id) " +
+            "OR ABS(parts_price - COALESCE((SELECT SUM(p.price) FROM pc_part p WHERE p.pc_id = pc.id), 0)) > 0.005",
+            nativeQuery = true)
+    int reconcilePartTotals();
 }
\ No newline at end of file
@@ -3,9 +3,20 @@ package com.example.PcStore.repository.inventory;
 import com.example.PcStore.model.inventory.pcPart;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.web.bind.annotation.PathVariable;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface PartRepository extends JpaRepository<pcPart, Long> {
     @Query(value = "select * from pc_part where id=?1 ",nativeQuery = true)
     pcPart detailpcpartbyid(@PathVariable Long partid);
+
+    // Filters on the pc_id column directly, without joining pc
+    @Query("select p from pcPart p where p.pc.id = :pcId order by p.type, p.id")
+    List<pcPart> findByPcIdOrderByType(@Param("pcId") Long pcId);
+
+    @Query("select p from pcPart p where p.pc.id in :pcIds order by p.pc.id, p.type, p.id")
+    List<pcPart> findByPcIdInOrderByType(@Param("pcIds") Collection<Long> pcIds);
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.example.PcStore.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog-wide change counters used as list ETags, so conditional GETs can be
+ * answered with 304 before anything is loaded from the database.
+ */
+@Component
+public class CatalogVersions {
+
+    public static final String PRODUCTS = "products";
+    public static final String PCS = "pcs";
+    public static final String PARTS = "parts";
+
+    // Counters restart with the process, so the boot time keeps old ETags from matching
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Duration maxAge;
+
+    public CatalogVersions(@Value("${pcstore.catalog.cache-max-age-seconds:60}") long maxAgeSeconds) {
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+    }
+
+    public String etag(String catalog) {
+        return "\"" + catalog + "-" + epoch + "-" + counter(catalog).get() + "\"";
+    }
+
+    /**
+     * ETag of a list served from an in-memory snapshot. It follows the generation
+     * actually being served, so it cannot run ahead of a snapshot still rebuilding.
+     */
+    public String snapshotEtag(String catalog, long generation) {
+        return "\"" + catalog + "-" + epoch + "-g" + generation + "\"";
+    }
+
+    public String entityEtag(String catalog, Long id, Long version) {
+        return "\"" + catalog + "-" + id + "-v" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * Marks the catalog as changed. Inside a transaction it is bumped again after
+     * completion so a list read racing the commit cannot keep the new ETag.
+     */
+    public void bump(String catalog) {
+        counter(catalog).incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    counter(catalog).incrementAndGet();
+                }
+            });
+        }
+    }
+
+    public CacheControl publicCacheControl() {
+        return CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    // For endpoints behind authentication: browsers may cache, shared proxies may not
+    public CacheControl privateCacheControl() {
+        return CacheControl.maxAge(maxAge).cachePrivate();
+    }
+
+    private AtomicLong counter(String catalog) {
+        return versions.computeIfAbsent(catalog, key -> new AtomicLong());
+    }
+}
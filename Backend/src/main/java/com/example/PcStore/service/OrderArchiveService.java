@@ -0,0 +1,121 @@
+package com.example.PcStore.service;
+
+import com.example.PcStore.model.enums.OrderStatus;
+import com.example.PcStore.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves old, finished orders and their items into orders_archive and
+ * order_item_archive. Each batch is its own short transaction that locks only
+ * the rows it moves, so checkout and the admin screens never wait on a full run.
+ */
+@Service
+public class OrderArchiveService {
+
+    private static final String LOCK_SQL = "SELECT id FROM orders WHERE id IN (:ids) FOR UPDATE";
+
+    private static final String COPY_ORDERS_SQL =
+            "INSERT INTO orders_archive (id, customer_name, customer_email, customer_phone, order_date, status, notes, total, archived_at) " +
+            "SELECT id, customer_name, customer_email, customer_phone, order_date, status, notes, total, :archivedAt " +
+            "FROM orders WHERE id IN (:ids)";
+
+    private static final String COPY_ITEMS_SQL =
+            "INSERT INTO order_item_archive (id, order_id, product_id, quantity, unit_price, line_total) " +
+            "SELECT id, order_id, product_id, quantity, unit_price, line_total FROM order_item WHERE order_id IN (:ids)";
+
+    private static final String DELETE_ITEMS_SQL = "DELETE FROM order_item WHERE order_id IN (:ids)";
+    private static final String DELETE_ORDERS_SQL = "DELETE FROM orders WHERE id IN (:ids)";
+
+    private final OrderRepository orderRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${pcstore.orders.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pcstore.orders.archive.min-age-days:180}")
+    private int minAgeDays;
+
+    @Value("${pcstore.orders.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${pcstore.orders.archive.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    // Pause between batches so live traffic gets the tables back
+    @Value("${pcstore.orders.archive.batch-pause-millis:50}")
+    private long batchPauseMillis;
+
+    @Value("${pcstore.orders.archive.statuses:COMPLETED,CANCELLED,RETURNED}")
+    private Set<OrderStatus> archivedStatuses;
+
+    public OrderArchiveService(OrderRepository orderRepository, NamedParameterJdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${pcstore.orders.archive.cron:0 30 3 * * *}")
+    public void archiveScheduled() {
+        if (enabled) {
+            archiveOldOrders();
+        }
+    }
+
+    // Returns the number of orders moved
+    public int archiveOldOrders() {
+        if (archivedStatuses.isEmpty()) {
+            return 0;
+        }
+        Date cutoff = Date.from(LocalDate.now().minusDays(minAgeDays).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        int moved = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Long> ids = orderRepository.findArchivableIds(cutoff, archivedStatuses, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer count = transactionTemplate.execute(status -> archiveBatch(ids));
+            moved += count == null ? 0 : count;
+            if (ids.size() < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(batchPauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return moved;
+    }
+
+    private int archiveBatch(List<Long> candidateIds) {
+        // Rows deleted since they were selected simply drop out here
+        List<Long> ids = jdbcTemplate.queryForList(LOCK_SQL, new MapSqlParameterSource("ids", candidateIds), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.update(COPY_ORDERS_SQL, params);
+        jdbcTemplate.update(COPY_ITEMS_SQL, params);
+        jdbcTemplate.update(DELETE_ITEMS_SQL, params);
+        return jdbcTemplate.update(DELETE_ORDERS_SQL, params);
+    }
+}
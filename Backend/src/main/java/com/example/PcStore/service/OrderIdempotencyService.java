@@ -0,0 +1,224 @@
+package com.example.PcStore.service;
+
+import com.example.PcStore.dto.OrderDto;
+import com.example.PcStore.dto.OrderItemDto;
+import com.example.PcStore.model.OrderIdempotencyKey;
+import com.example.PcStore.repository.OrderIdempotencyKeyRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Idempotency-Key support for order creation. Completed requests are remembered in
+ * a bounded LRU + TTL map and in the order_idempotency_keys table, which is written
+ * in the same transaction as the order; a retry gets the original OrderDto back
+ * without locking products or writing anything. Keys are scoped to the user: two
+ * customers sending the same key get separate entries, so neither can replay, or
+ * be refused because of, the other's order.
+ */
+@Service
+public class OrderIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final OrderService orderService;
+    private final OrderIdempotencyKeyRepository keyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long retentionHours;
+
+    // Access-ordered so the eldest entry is always the least recently used one
+    private final LinkedHashMap<String, Entry> recent = new LinkedHashMap<>(16, 0.75f, true);
+    // Keys whose first request is still running, so a parallel retry cannot create a second order
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public OrderIdempotencyService(OrderService orderService,
+                                   OrderIdempotencyKeyRepository keyRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${pcstore.orders.idempotency.cache-size:10000}") int maxSize,
+                                   @Value("${pcstore.orders.idempotency.cache-ttl-seconds:600}") long ttlSeconds,
+                                   @Value("${pcstore.orders.idempotency.retention-hours:24}") long retentionHours) {
+        this.orderService = orderService;
+        this.keyRepository = keyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.retentionHours = retentionHours;
+    }
+
+    /**
+     * Returns the response of an earlier request with this key, or null if the key is
+     * new. Throws 422 when the key was already used for a different order.
+     */
+    public OrderDto findReplay(String owner, String key, OrderDto orderDto) {
+        return lookup(scope(owner, key), fingerprint(orderDto));
+    }
+
+    /**
+     * Creates the order and records the key with it. A concurrent request with the
+     * same key gets 409; one that lost a race on another node gets the stored order.
+     */
+    public OrderDto createOrder(String owner, String clientKey, OrderDto orderDto) {
+        String key = scope(owner, clientKey);
+        String hash = fingerprint(orderDto);
+        if (!inFlight.add(key)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is already in progress");
+        }
+        try {
+            OrderDto replay = lookup(key, hash);
+            if (replay != null) {
+                return replay;
+            }
+            OrderDto created;
+            try {
+                created = transactionTemplate.execute(status -> {
+                    OrderDto result = orderService.createOrder(orderDto);
+                    entityManager.persist(new OrderIdempotencyKey(key, result.getId(), hash, LocalDateTime.now()));
+                    return result;
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another instance committed this key first; our order rolled back with the key row
+                replay = lookup(key, hash);
+                if (replay == null) {
+                    throw e;
+                }
+                return replay;
+            }
+            remember(key, created, hash);
+            return created;
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pcstore.orders.idempotency.purge-interval-millis:3600000}")
+    public void purgeExpiredKeys() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        transactionTemplate.executeWithoutResult(status -> keyRepository.deleteCreatedBefore(cutoff));
+    }
+
+    private OrderDto lookup(String key, String hash) {
+        Entry entry = cached(key);
+        if (entry == null) {
+            Optional<OrderIdempotencyKey> stored = keyRepository.findById(key);
+            if (stored.isEmpty()) {
+                return null;
+            }
+            entry = new Entry(orderService.getOrderById(stored.get().getOrderId()),
+                    stored.get().getRequestHash(), ttlMillis);
+            remember(key, entry);
+        }
+        if (!entry.requestHash.equals(hash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different order");
+        }
+        return entry.response;
+    }
+
+    private synchronized Entry cached(String key) {
+        Entry entry = recent.get(key);
+        if (entry != null && entry.isExpired()) {
+            recent.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private void remember(String key, OrderDto response, String hash) {
+        remember(key, new Entry(response, hash, ttlMillis));
+    }
+
+    private synchronized void remember(String key, Entry entry) {
+        if (maxSize <= 0) {
+            return;
+        }
+        recent.put(key, entry);
+        Iterator<Map.Entry<String, Entry>> eldest = recent.entrySet().iterator();
+        while (recent.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * The key as stored and cached: SHA-256 of the user and the client's key, so the
+     * primary key of order_idempotency_keys is unique per user and keeps a fixed length.
+     */
+    private static String scope(String owner, String key) {
+        if (owner == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Idempotency-Key requires a logged-in user");
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        return sha256(owner + '\n' + key);
+    }
+
+    // Hash of the fields that define the order; the server-assigned id and status are left out
+    private static String fingerprint(OrderDto orderDto) {
+        StringBuilder canonical = new StringBuilder();
+        if (orderDto != null) {
+            canonical.append(orderDto.getCustomerName()).append('\n')
+                    .append(orderDto.getCustomerEmail()).append('\n')
+                    .append(orderDto.getCustomerPhone()).append('\n')
+                    .append(orderDto.getNotes()).append('\n');
+            if (orderDto.getItems() != null) {
+                for (OrderItemDto item : orderDto.getItems()) {
+                    canonical.append(item.getProductId()).append(':').append(item.getQuantity()).append(';');
+                }
+            }
+        }
+        return sha256(canonical.toString());
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final OrderDto response;
+        private final String requestHash;
+        private final long expiresAt;
+
+        private Entry(OrderDto response, String requestHash, long ttlMillis) {
+            this.response = response;
+            this.requestHash = requestHash;
+            this.expiresAt = System.currentTimeMillis() + ttlMillis;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
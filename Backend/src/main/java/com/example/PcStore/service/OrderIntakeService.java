@@ -0,0 +1,280 @@
+package com.example.PcStore.service;
+
+import com.example.PcStore.dto.OrderDto;
+import com.example.PcStore.dto.OrderLineErrorDto;
+import com.example.PcStore.dto.OrderTicketDto;
+import com.example.PcStore.exception.OrderIntakeFullException;
+import com.example.PcStore.exception.OrderLinesRejectedException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional asynchronous order intake. Validated orders wait in a bounded queue and
+ * a single worker commits them in small groups, one transaction per group, so a
+ * burst of checkouts holds one connection instead of one per request thread.
+ * Customers poll the returned ticket for the outcome.
+ */
+@Service
+public class OrderIntakeService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIntakeService.class);
+
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int groupSize;
+    private final long lingerNanos;
+    private final Duration ticketRetention;
+
+    private final BlockingQueue<Pending> queue;
+    private final Map<String, OrderTicketDto> tickets = new ConcurrentHashMap<>();
+
+    private volatile boolean accepting;
+    private Thread worker;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong committed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong groups = new AtomicLong();
+    private final AtomicLong groupedOrders = new AtomicLong();
+    private final AtomicLong lastGroupSize = new AtomicLong();
+    private final AtomicLong totalCommitMicros = new AtomicLong();
+    private final AtomicLong maxCommitMicros = new AtomicLong();
+    private final AtomicLong lastCommitMicros = new AtomicLong();
+
+    public OrderIntakeService(OrderService orderService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${pcstore.orders.intake.async:false}") boolean enabled,
+                              @Value("${pcstore.orders.intake.queue-capacity:1000}") int queueCapacity,
+                              @Value("${pcstore.orders.intake.group-size:20}") int groupSize,
+                              @Value("${pcstore.orders.intake.linger-millis:5}") long lingerMillis,
+                              @Value("${pcstore.orders.intake.ticket-retention-seconds:3600}") long retentionSeconds) {
+        this.orderService = orderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.groupSize = Math.max(1, groupSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.ticketRetention = Duration.ofSeconds(retentionSeconds);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        accepting = true;
+        worker = new Thread(this::runWorker, "order-intake");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Stops taking new orders and lets the worker finish what is already queued
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        accepting = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * Validates the order and queues it. Throws IllegalArgumentException for an
+     * invalid order and OrderIntakeFullException when the queue is at capacity.
+     */
+    public OrderTicketDto submit(OrderDto orderDto) {
+        if (!accepting) {
+            throw new OrderIntakeFullException("Order intake is not accepting orders");
+        }
+        orderService.validateOrder(orderDto);
+        OrderTicketDto ticket = new OrderTicketDto(UUID.randomUUID().toString(), OrderTicketDto.QUEUED,
+                null, null, null, Instant.now(), null);
+        tickets.put(ticket.getTicketId(), ticket);
+        if (!queue.offer(new Pending(ticket, orderDto))) {
+            tickets.remove(ticket.getTicketId());
+            throw new OrderIntakeFullException("Order queue is full, retry shortly");
+        }
+        submitted.incrementAndGet();
+        return ticket;
+    }
+
+    public OrderTicketDto getTicket(String ticketId) {
+        OrderTicketDto ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Order ticket not found: " + ticketId);
+        }
+        return ticket;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long groupCount = groups.get();
+        stats.put("enabled", enabled);
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queue.size() + queue.remainingCapacity());
+        stats.put("submitted", submitted.get());
+        stats.put("committed", committed.get());
+        stats.put("rejected", rejected.get());
+        stats.put("failed", failed.get());
+        stats.put("groups", groupCount);
+        stats.put("maxGroupSize", groupSize);
+        stats.put("lastGroupSize", lastGroupSize.get());
+        stats.put("avgGroupSize", groupCount == 0 ? 0.0 : (double) groupedOrders.get() / groupCount);
+        stats.put("lastCommitMillis", lastCommitMicros.get() / 1000.0);
+        stats.put("avgCommitMillis", groupCount == 0 ? 0.0 : totalCommitMicros.get() / 1000.0 / groupCount);
+        stats.put("maxCommitMillis", maxCommitMicros.get() / 1000.0);
+        stats.put("trackedTickets", tickets.size());
+        return stats;
+    }
+
+    private void runWorker() {
+        List<Pending> group = new ArrayList<>(groupSize);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                fillGroup(group);
+                commitGroup(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order intake worker failed on a group of {}", group.size(), e);
+            } finally {
+                group.clear();
+            }
+            expireTickets();
+        }
+    }
+
+    // Takes whatever is already queued, then waits up to the linger time for the group to fill
+    private void fillGroup(List<Pending> group) throws InterruptedException {
+        queue.drainTo(group, groupSize - group.size());
+        long deadline = System.nanoTime() + lingerNanos;
+        while (group.size() < groupSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+            queue.drainTo(group, groupSize - group.size());
+        }
+    }
+
+    private void commitGroup(List<Pending> group) {
+        long start = System.nanoTime();
+        List<Runnable> outcomes = new ArrayList<>(group.size());
+        try {
+            // Tickets are only updated once the whole group is durable
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Pending pending : group) {
+                    outcomes.add(place(pending));
+                }
+            });
+            outcomes.forEach(Runnable::run);
+        } catch (RuntimeException e) {
+            // The group rolled back as a whole; retry each order in its own transaction
+            log.warn("Group commit of {} orders failed, retrying individually", group.size(), e);
+            for (Pending pending : group) {
+                try {
+                    OrderDto created = orderService.createOrder(pending.order);
+                    complete(pending.ticket, created);
+                } catch (IllegalArgumentException rejection) {
+                    reject(pending.ticket, rejection);
+                } catch (RuntimeException failure) {
+                    failed.incrementAndGet();
+                    finish(pending.ticket, OrderTicketDto.FAILED, null, "Order could not be saved", null);
+                }
+            }
+        }
+        recordGroup(group.size(), System.nanoTime() - start);
+    }
+
+    // Runs inside the group transaction; returns the ticket update to apply after commit
+    private Runnable place(Pending pending) {
+        try {
+            OrderDto created = orderService.placeOrder(pending.order);
+            return () -> complete(pending.ticket, created);
+        } catch (IllegalArgumentException rejection) {
+            return () -> reject(pending.ticket, rejection);
+        }
+    }
+
+    private void complete(OrderTicketDto ticket, OrderDto created) {
+        committed.incrementAndGet();
+        finish(ticket, OrderTicketDto.COMMITTED, created.getId(), null, null);
+    }
+
+    private void reject(OrderTicketDto ticket, IllegalArgumentException rejection) {
+        rejected.incrementAndGet();
+        finish(ticket, OrderTicketDto.REJECTED, null, rejection.getMessage(),
+                rejection instanceof OrderLinesRejectedException lines ? lines.getLineErrors() : null);
+    }
+
+    // Tickets are replaced rather than mutated so pollers never see a half-written one
+    private void finish(OrderTicketDto ticket, String status, Long orderId, String message,
+                        List<OrderLineErrorDto> lineErrors) {
+        tickets.put(ticket.getTicketId(), new OrderTicketDto(ticket.getTicketId(), status, orderId, message,
+                lineErrors, ticket.getSubmittedAt(), Instant.now()));
+    }
+
+    private void recordGroup(int size, long elapsedNanos) {
+        long micros = elapsedNanos / 1000;
+        groups.incrementAndGet();
+        groupedOrders.addAndGet(size);
+        lastGroupSize.set(size);
+        lastCommitMicros.set(micros);
+        totalCommitMicros.addAndGet(micros);
+        maxCommitMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    private void expireTickets() {
+        Instant cutoff = Instant.now().minus(ticketRetention);
+        tickets.values().removeIf(ticket -> ticket.getCompletedAt() != null && ticket.getCompletedAt().isBefore(cutoff));
+    }
+
+    private static final class Pending {
+        private final OrderTicketDto ticket;
+        private final OrderDto order;
+
+        private Pending(OrderTicketDto ticket, OrderDto order) {
+            this.ticket = ticket;
+            this.order = order;
+        }
+    }
+}
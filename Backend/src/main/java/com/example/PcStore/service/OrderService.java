@@ -2,81 +2,220 @@ package com.example.PcStore.service;
 
 import com.example.PcStore.dto.OrderDto;
 import com.example.PcStore.dto.OrderItemDto;
+import com.example.PcStore.dto.OrderLineErrorDto;
+import com.example.PcStore.dto.OrderPageDto;
+import com.example.PcStore.dto.OrderSearchCriteria;
+import com.example.PcStore.dto.OrderStatusTransitionDto;
+import com.example.PcStore.dto.OrderStatusTransitionResultDto;
+import com.example.PcStore.exception.OrderLinesRejectedException;
+import com.example.PcStore.mapper.OrderMapper;
 import com.example.PcStore.model.Order;
 import com.example.PcStore.model.OrderItem;
 import com.example.PcStore.model.Product;
+import com.example.PcStore.model.enums.OrderStatus;
+import com.example.PcStore.repository.ArchivedOrderRepository;
 import com.example.PcStore.repository.OrderRepository;
 import com.example.PcStore.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
     private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
     private final ProductRepository productRepository;
-    private final ModelMapper modelMapper;
+    private final ProductCache productCache;
+    private final CatalogVersions catalogVersions;
+    private final OrderMapper orderMapper;
+    private final SalesRollupService salesRollupService;
+    private final StockReservationService stockReservationService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${pcstore.orders.checkout.jdbc-batch-size:50}")
+    private int checkoutBatchSize;
+
+    @Value("${pcstore.orders.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${pcstore.orders.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${pcstore.orders.status-update.chunk-size:1000}")
+    private int statusUpdateChunkSize;
+
+    @Value("${pcstore.orders.backfill-line-prices:true}")
+    private boolean backfillLinePrices;
 
     @Autowired
     public OrderService(OrderRepository orderRepository,
+                        ArchivedOrderRepository archivedOrderRepository,
                         ProductRepository productRepository,
-                        ModelMapper modelMapper) {
+                        ProductCache productCache,
+                        CatalogVersions catalogVersions,
+                        OrderMapper orderMapper,
+                        SalesRollupService salesRollupService,
+                        StockReservationService stockReservationService) {
         this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
         this.productRepository = productRepository;
-        this.modelMapper = modelMapper;
+        this.productCache = productCache;
+        this.catalogVersions = catalogVersions;
+        this.orderMapper = orderMapper;
+        this.salesRollupService = salesRollupService;
+        this.stockReservationService = stockReservationService;
+    }
+
+    /**
+     * Fills unit price, line total and order total on rows written before they were
+     * stored, using the current product price. Only touches rows still missing them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillLinePrices() {
+        if (!backfillLinePrices) {
+            return;
+        }
+        entityManager.createNativeQuery("UPDATE order_item SET unit_price = " +
+                "(SELECT p.price FROM products p WHERE p.id = order_item.product_id) WHERE unit_price IS NULL").executeUpdate();
+        entityManager.createNativeQuery("UPDATE order_item SET line_total = unit_price * quantity " +
+                "WHERE line_total IS NULL AND unit_price IS NOT NULL").executeUpdate();
+        entityManager.createNativeQuery("UPDATE orders SET total = " +
+                "(SELECT SUM(i.line_total) FROM order_item i WHERE i.order_id = orders.id) WHERE total IS NULL").executeUpdate();
     }
 
     @Transactional
     public OrderDto createOrder(OrderDto orderDto) {
         validateOrder(orderDto);
+        return placeOrder(orderDto);
+    }
 
-        Order order = new Order();
-        order.setCustomerName(orderDto.getCustomerName());
-        order.setCustomerEmail(orderDto.getCustomerEmail());
-        order.setCustomerPhone(orderDto.getCustomerPhone());
-        order.setOrderDate(orderDto.getOrderDate() != null ? orderDto.getOrderDate() : new Date());
-        order.setStatus(orderDto.getStatus());
-        order.setNotes(orderDto.getNotes());
+    /**
+     * Checkout body without a transaction boundary of its own; the caller must
+     * already be in one. A rejected order throws before any stock is changed, so
+     * OrderIntakeService can commit several orders together and skip the bad ones.
+     */
+    public OrderDto placeOrder(OrderDto orderDto) {
+        Order order = orderMapper.toEntity(orderDto);
+        if (order.getOrderDate() == null) {
+            order.setOrderDate(new Date());
+        }
+        if (order.getStatus() == null) {
+            order.setStatus(OrderStatus.PENDING);
+        }
 
-        List<OrderItem> orderItems = processOrderItems(order, orderDto.getItems());
+        List<OrderItem> orderItems = processOrderItems(order, orderDto.getItems(), orderDto.getReservationIds(),
+                orderDto.getReservationOwner());
         order.setItems(orderItems);
+        stockReservationService.consume(orderDto.getReservationIds(), orderDto.getReservationOwner());
+        catalogVersions.bump(CatalogVersions.PRODUCTS);
 
         Order savedOrder = orderRepository.save(order);
-        return modelMapper.map(savedOrder, OrderDto.class);
+        salesRollupService.recordOrder(savedOrder);
+        return orderMapper.toDto(savedOrder);
     }
 
-    private List<OrderItem> processOrderItems(Order order, List<OrderItemDto> itemDtos) {
-        return itemDtos.stream().map(itemDto -> {
-            Product product = productRepository.findById(itemDto.getProductId())
-                    .orElseThrow(() -> new IllegalArgumentException("Product not found: " + itemDto.getProductId()));
+    /**
+     * Set-based checkout: every referenced product is loaded and locked with one
+     * query in ascending id order, so overlapping orders cannot deadlock. All lines
+     * are then validated in memory before any stock is changed. Stock held by other
+     * customers' cart reservations is not available to this order.
+     */
+    private List<OrderItem> processOrderItems(Order order, List<OrderItemDto> itemDtos, List<String> reservationIds,
+                                              String reservationOwner) {
+        List<OrderLineErrorDto> errors = new ArrayList<>();
+        // Duplicate lines for one product must be checked against its stock together
+        Map<Long, Integer> requested = new TreeMap<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            OrderItemDto itemDto = itemDtos.get(i);
+            if (itemDto.getProductId() == null) {
+                errors.add(new OrderLineErrorDto(i + 1, null, "Product id is required"));
+            } else if (itemDto.getQuantity() <= 0) {
+                errors.add(new OrderLineErrorDto(i + 1, itemDto.getProductId(), "Quantity must be positive"));
+            } else {
+                requested.merge(itemDto.getProductId(), itemDto.getQuantity(), Integer::sum);
+            }
+        }
 
-            if (product.getStock() < itemDto.getQuantity()) {
-                throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
+        Map<Long, Product> products = new HashMap<>();
+        if (!requested.isEmpty()) {
+            for (Product product : productRepository.findAllByIdForUpdate(requested.keySet())) {
+                products.put(product.getId(), product);
             }
+        }
+
+        Map<Long, Integer> ownHolds = stockReservationService.heldBy(reservationIds, reservationOwner);
+        for (int i = 0; i < itemDtos.size(); i++) {
+            Long productId = itemDtos.get(i).getProductId();
+            if (productId == null || itemDtos.get(i).getQuantity() <= 0) {
+                continue;
+            }
+            Product product = products.get(productId);
+            if (product == null) {
+                errors.add(new OrderLineErrorDto(i + 1, productId, "Product not found: " + productId));
+                continue;
+            }
+            int heldByOthers = stockReservationService.reservedQuantity(productId) - ownHolds.getOrDefault(productId, 0);
+            int available = product.getStock() - Math.max(0, heldByOthers);
+            if (available < requested.get(productId)) {
+                errors.add(new OrderLineErrorDto(i + 1, productId, "Insufficient stock for product: "
+                        + product.getName() + " (available " + Math.max(0, available)
+                        + ", requested " + requested.get(productId) + ")"));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new OrderLinesRejectedException(errors);
+        }
 
-            // Reduce stock
-            product.setStock(product.getStock() - itemDto.getQuantity());
-            productRepository.save(product);
+        // Rows are locked, so plain in-memory decrements are safe; they flush as one JDBC batch
+        entityManager.unwrap(Session.class).setJdbcBatchSize(checkoutBatchSize);
+        for (Map.Entry<Long, Integer> entry : requested.entrySet()) {
+            Product product = products.get(entry.getKey());
+            product.setStock(product.getStock() - entry.getValue());
+            productCache.invalidate(product.getId());
+        }
 
-            // Create and return OrderItem
+        BigDecimal total = BigDecimal.ZERO;
+        List<OrderItem> items = new ArrayList<>(itemDtos.size());
+        for (OrderItemDto itemDto : itemDtos) {
+            Product product = products.get(itemDto.getProductId());
             OrderItem item = new OrderItem();
             item.setOrder(order);
             item.setProduct(product);
             item.setQuantity(itemDto.getQuantity());
-
-            return item;
-        }).collect(Collectors.toList());
+            item.setUnitPrice(product.getPrice());
+            item.setLineTotal(product.getPrice().multiply(BigDecimal.valueOf(itemDto.getQuantity())));
+            total = total.add(item.getLineTotal());
+            items.add(item);
+        }
+        order.setTotal(total);
+        return items;
     }
 
-    private void validateOrder(OrderDto orderDto) {
+    public void validateOrder(OrderDto orderDto) {
         if (orderDto == null) {
             throw new IllegalArgumentException("Order data cannot be null");
         }
@@ -89,12 +228,15 @@ public class OrderService {
         if (orderDto.getItems() == null || orderDto.getItems().isEmpty()) {
             throw new IllegalArgumentException("Order must contain at least one item");
         }
+        if (orderDto.getStatus() != null && OrderStatus.fromValue(orderDto.getStatus()) != OrderStatus.PENDING) {
+            throw new IllegalArgumentException("New orders must start as " + OrderStatus.PENDING.getDisplayName());
+        }
     }
 
     public List<OrderDto> getAllOrders() {
         try {
-            return orderRepository.findAll().stream()
-                    .map(order -> modelMapper.map(order, OrderDto.class))
+            return orderRepository.findAllWithItems().stream()
+                    .map(orderMapper::toDto)
                     .collect(Collectors.toList());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
@@ -102,12 +244,64 @@ public class OrderService {
         }
     }
 
+    /**
+     * Filtered, keyset-paginated order listing, newest first. Matching ids are
+     * selected with the limit applied in SQL, then loaded with their items in one query.
+     */
+    public OrderPageDto getOrderPage(OrderSearchCriteria criteria, String cursor, Integer limit) {
+        if (criteria.getFromDate() != null && criteria.getToDate() != null
+                && criteria.getFromDate().isAfter(criteria.getToDate())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        int pageSize = resolvePageSize(limit);
+        Long beforeId = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+
+        // One extra id tells whether another page exists
+        List<Long> ids = orderRepository.findPageIds(criteria, beforeId, pageSize + 1);
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+
+        List<OrderDto> items = pageIds.isEmpty() ? List.of() : orderRepository.findAllWithItemsByIdIn(pageIds).stream()
+                .map(orderMapper::toDto)
+                .collect(Collectors.toList());
+        String nextCursor = hasMore ? encodeCursor(pageIds.get(pageIds.size() - 1)) : null;
+        return new OrderPageDto(items, nextCursor, hasMore, pageSize);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page limit must be positive");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodeCursor(String cursor) {
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor");
+        }
+    }
+
     public OrderDto getOrderById(Long id) {
         try {
-            Order order = orderRepository.findById(id)
+            Optional<Order> order = orderRepository.findWithItemsById(id);
+            if (order.isPresent()) {
+                return orderMapper.toDto(order.get());
+            }
+            // Archived orders keep their ids, so old links and idempotent replays still resolve
+            return archivedOrderRepository.findWithItemsById(id)
+                    .map(orderMapper::toDto)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                             "Order not found with ID: " + id));
-            return modelMapper.map(order, OrderDto.class);
         } catch (ResponseStatusException e) {
             throw e;
         } catch (Exception e) {
@@ -116,6 +310,57 @@ public class OrderService {
         }
     }
 
+    @Transactional
+    public OrderDto updateStatus(Long id, String status) {
+        OrderStatus next = parseStatus(status);
+        Order order = orderRepository.findWithItemsById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Order not found with ID: " + id));
+        // Rows saved before statuses were validated may have none; any move out of that is allowed
+        if (order.getStatus() != null && order.getStatus() != next && !order.getStatus().canTransitionTo(next)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order " + id + " cannot move from "
+                    + order.getStatus() + " to " + next);
+        }
+        order.setStatus(next);
+        return orderMapper.toDto(order);
+    }
+
+    /**
+     * Moves every order in one status (optionally only the given ids) to another
+     * with UPDATE statements instead of loading each order.
+     */
+    @Transactional
+    public OrderStatusTransitionResultDto transitionStatus(OrderStatusTransitionDto request) {
+        OrderStatus from = parseStatus(request.getFrom());
+        OrderStatus to = parseStatus(request.getTo());
+        if (!from.canTransitionTo(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Illegal status transition: " + from + " -> " + to);
+        }
+        List<Long> ids = request.getOrderIds();
+        if (ids == null || ids.isEmpty()) {
+            return new OrderStatusTransitionResultDto(from.name(), to.name(), null, orderRepository.updateStatus(from, to));
+        }
+        int updated = 0;
+        // Keeps each IN list within what the driver and optimizer handle comfortably
+        for (int start = 0; start < ids.size(); start += statusUpdateChunkSize) {
+            List<Long> chunk = ids.subList(start, Math.min(start + statusUpdateChunkSize, ids.size()));
+            updated += orderRepository.updateStatusByIdIn(from, to, chunk);
+        }
+        return new OrderStatusTransitionResultDto(from.name(), to.name(), ids.size(), updated);
+    }
+
+    private OrderStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Order status is required");
+        }
+        try {
+            return OrderStatus.fromValue(status);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @Transactional
     public String deleteOrder(Long id) {
         try {
@@ -123,6 +368,7 @@ public class OrderService {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Order not found with ID: " + id);
             }
+            salesRollupService.removeOrder(id);
             orderRepository.deleteById(id);
             return "Order with ID " + id + " has been deleted successfully";
         } catch (ResponseStatusException e) {
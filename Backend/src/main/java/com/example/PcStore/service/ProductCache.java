@@ -0,0 +1,209 @@
+package com.example.PcStore.service;
+
+import com.example.PcStore.dto.ProductSummaryDto;
+import com.example.PcStore.model.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounded LRU + TTL cache for products, sitting in front of ProductRepository.
+ * Holds single products by id plus one slot for the catalog summary list.
+ *
+ * Reads never lock: entries live in a ConcurrentHashMap and only note their last
+ * access. The LRU trim takes a lock, and only when a put finds the map over size.
+ * Loaders take a stamp before reading the database and hand it to put; an
+ * eviction leaves a newer stamp behind, so a load that started before a write
+ * committed cannot re-cache the old row afterwards.
+ */
+@Component
+public class ProductCache {
+
+    // A trim goes this far below maxSize, so trims stay rare under steady puts
+    private static final double TRIM_TO = 0.9;
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<Long, Entry<Product>> products = new ConcurrentHashMap<>();
+    private final AtomicReference<Entry<List<ProductSummaryDto>>> allProducts = new AtomicReference<>();
+
+    // Ticks on every eviction; puts stamped below floor lost track of what was evicted since
+    private final AtomicLong clock = new AtomicLong();
+    private volatile long floor;
+    private final Object trimLock = new Object();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ProductCache(@Value("${pcstore.products.cache.max-size:10000}") int maxSize,
+                        @Value("${pcstore.products.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    // Take before reading the database and pass to put or putAll
+    public long stamp() {
+        return clock.get();
+    }
+
+    public Product get(Long id) {
+        Entry<Product> entry = products.get(id);
+        if (entry == null || entry.value == null || entry.isExpired()) {
+            misses.incrementAndGet();
+            return null;
+        }
+        entry.lastAccess = System.nanoTime();
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Caches a product read at the given stamp. Ignored when the product was evicted
+     * after the stamp was taken, or when a newer version is already cached.
+     */
+    public void put(Product product, long stamp) {
+        if (product == null || product.getId() == null || maxSize <= 0) {
+            return;
+        }
+        products.compute(product.getId(), (id, current) -> {
+            if (stamp < floor || (current != null && (current.stamp > stamp || isNewer(current.value, product)))) {
+                return current;
+            }
+            return new Entry<>(product, stamp, ttlMillis);
+        });
+        if (products.size() > maxSize) {
+            trim();
+        }
+    }
+
+    public List<ProductSummaryDto> getAll() {
+        Entry<List<ProductSummaryDto>> entry = allProducts.get();
+        if (entry == null || entry.value == null || entry.isExpired()) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    public void putAll(List<ProductSummaryDto> all, long stamp) {
+        Entry<List<ProductSummaryDto>> entry = new Entry<>(List.copyOf(all), stamp, ttlMillis);
+        allProducts.updateAndGet(current ->
+                stamp < floor || (current != null && current.stamp > stamp) ? current : entry);
+    }
+
+    /**
+     * Drops the product and the catalog list. Inside a transaction the eviction is
+     * repeated after commit so a concurrent reader cannot re-cache the pre-commit row.
+     */
+    public void invalidate(Long id) {
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        synchronized (trimLock) {
+            floor = clock.incrementAndGet();
+            products.clear();
+            allProducts.set(null);
+        }
+    }
+
+    // Leaves a stamped tombstone, so loads that started earlier are turned away by put
+    private void evict(Long id) {
+        long stamp = clock.incrementAndGet();
+        if (id != null) {
+            products.put(id, new Entry<>(null, stamp, ttlMillis));
+        }
+        allProducts.set(new Entry<>(null, stamp, ttlMillis));
+    }
+
+    // Drops the least recently used entries; the floor then covers any stale put aimed at them
+    private void trim() {
+        synchronized (trimLock) {
+            int excess = products.size() - (int) (maxSize * TRIM_TO);
+            if (products.size() <= maxSize || excess <= 0) {
+                return;
+            }
+            // Access times are copied first; readers keep moving them during the sort
+            List<Candidate> candidates = new ArrayList<>(products.size());
+            products.forEach((id, entry) -> candidates.add(new Candidate(id, entry, entry.lastAccess)));
+            candidates.sort((a, b) -> Long.compare(a.lastAccess, b.lastAccess));
+            int count = Math.min(excess, candidates.size());
+            long highest = floor;
+            for (int i = 0; i < count; i++) {
+                highest = Math.max(highest, candidates.get(i).entry.stamp);
+            }
+            floor = highest;
+            for (int i = 0; i < count; i++) {
+                Candidate eldest = candidates.get(i);
+                if (products.remove(eldest.id, eldest.entry)) {
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static boolean isNewer(Product cached, Product product) {
+        return cached != null && cached.getVersion() != null && product.getVersion() != null
+                && cached.getVersion() > product.getVersion();
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("size", (long) products.size());
+        stats.put("maxSize", (long) maxSize);
+        return stats;
+    }
+
+    private static final class Candidate {
+        private final Long id;
+        private final Entry<Product> entry;
+        private final long lastAccess;
+
+        private Candidate(Long id, Entry<Product> entry, long lastAccess) {
+            this.id = id;
+            this.entry = entry;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    // A null value is a tombstone: the key was evicted at stamp
+    private static final class Entry<V> {
+        private final V value;
+        private final long stamp;
+        private final long expiresAt;
+        private volatile long lastAccess = System.nanoTime();
+
+        private Entry(V value, long stamp, long ttlMillis) {
+            this.value = value;
+            this.stamp = stamp;
+            this.expiresAt = System.currentTimeMillis() + ttlMillis;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
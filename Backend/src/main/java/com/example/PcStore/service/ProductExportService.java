@@ -0,0 +1,116 @@
+package com.example.PcStore.service;
+
+import com.example.PcStore.dto.ProductDto;
+import com.example.PcStore.model.Product;
+import com.example.PcStore.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the product catalog straight to an output stream, one row at a time,
+ * so exports run in constant heap regardless of catalog size.
+ */
+@Service
+public class ProductExportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    private static final String CSV_HEADER = "id,name,description,price,stock,category,imageUrl";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public static String normalizeFormat(String format) {
+        String normalized = format == null ? FORMAT_NDJSON : format.trim().toLowerCase();
+        if (!normalized.equals(FORMAT_NDJSON) && !normalized.equals(FORMAT_CSV)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unsupported export format: " + format + " (expected ndjson or csv)");
+        }
+        return normalized;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream out, String format) {
+        boolean csv = FORMAT_CSV.equals(normalizeFormat(format));
+        long rows = 0;
+        try (Stream<Product> products = productRepository.streamAllForExport()) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                if (csv) {
+                    writeCsvRow(writer, product);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(toDto(product)));
+                    writer.write('\n');
+                }
+                // Keep the persistence context from accumulating every exported row
+                entityManager.detach(product);
+                rows++;
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Product export failed after " + rows + " rows", e);
+        }
+        return rows;
+    }
+
+    private ProductDto toDto(Product product) {
+        return new ProductDto(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getStock(), product.getCategory(), product.getImageUrl());
+    }
+
+    private void writeCsvRow(Writer writer, Product product) throws IOException {
+        writer.write(String.valueOf(product.getId()));
+        writer.write(',');
+        writer.write(csvField(product.getName()));
+        writer.write(',');
+        writer.write(csvField(product.getDescription()));
+        writer.write(',');
+        writer.write(product.getPrice() == null ? "" : product.getPrice().toPlainString());
+        writer.write(',');
+        writer.write(product.getStock() == null ? "" : product.getStock().toString());
+        writer.write(',');
+        writer.write(csvField(product.getCategory()));
+        writer.write(',');
+        writer.write(csvField(product.getImageUrl()));
+        writer.write('\n');
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
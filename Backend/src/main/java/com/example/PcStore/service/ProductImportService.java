@@ -0,0 +1,312 @@
+package com.example.PcStore.service;
+
+import com.example.PcStore.dto.ProductDto;
+import com.example.PcStore.dto.ProductImportResultDto;
+import com.example.PcStore.model.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk product import. Rows are validated with the same rules as
+ * ProductService.createProduct and written with JDBC batch statements, each batch
+ * in its own transaction: a batch either lands whole or not at all, so the rows of
+ * a failed batch are exactly the ones reported as failed.
+ *
+ * Against MySQL the batches only become multi-row statements when the JDBC URL
+ * carries rewriteBatchedStatements=true (see the backend setup in README.md);
+ * without it Connector/J still sends one statement per row.
+ */
+@Service
+public class ProductImportService {
+
+    // Plain JDBC can batch against an AUTO_INCREMENT key, which Hibernate cannot do for IDENTITY ids
+    private static final String INSERT_SQL =
+            "INSERT INTO products (name, description, price, stock, category, image_url, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    // Row alias instead of the deprecated VALUES(col) form; needs MySQL 8.0.19+
+    private static final String UPSERT_SQL =
+            "INSERT INTO products (id, name, description, price, stock, category, image_url, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 0) AS new " +
+            "ON DUPLICATE KEY UPDATE name = new.name, description = new.description, " +
+            "price = new.price, stock = new.stock, category = new.category, " +
+            "image_url = new.image_url, version = products.version + 1";
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${pcstore.products.import.batch-size:500}")
+    private int batchSize;
+
+    public ProductImportResultDto importProducts(List<ProductDto> rows) {
+        ImportRun run = new ImportRun();
+        int rowNumber = 0;
+        for (ProductDto row : rows) {
+            rowNumber++;
+            run.accept(rowNumber, toProduct(row));
+        }
+        return run.finish();
+    }
+
+    /**
+     * Imports CSV with a header row naming the columns (id, name, description,
+     * price, stock, category, imageUrl in any order; id is optional).
+     */
+    public ProductImportResultDto importCsv(Reader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("price")
+                || !columns.containsKey("stock") || !columns.containsKey("category")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "CSV header must contain name, price, stock and category columns");
+        }
+
+        ImportRun run = new ImportRun();
+        int rowNumber = 0;
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            rowNumber++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                ProductDto row = new ProductDto();
+                String id = column(record, columns, "id");
+                row.setId(id == null ? null : Long.valueOf(id));
+                row.setName(column(record, columns, "name"));
+                row.setDescription(column(record, columns, "description"));
+                String price = column(record, columns, "price");
+                row.setPrice(price == null ? null : new BigDecimal(price));
+                String stock = column(record, columns, "stock");
+                row.setStock(stock == null ? null : Integer.valueOf(stock));
+                row.setCategory(column(record, columns, "category"));
+                row.setImageUrl(column(record, columns, "imageurl"));
+                run.accept(rowNumber, toProduct(row));
+            } catch (NumberFormatException e) {
+                run.invalid(rowNumber, "Invalid number: " + e.getMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Product toProduct(ProductDto row) {
+        Product product = new Product();
+        if (row == null) {
+            return product;
+        }
+        product.setId(row.getId());
+        product.setName(row.getName());
+        product.setDescription(row.getDescription());
+        product.setPrice(row.getPrice());
+        product.setStock(row.getStock());
+        product.setCategory(row.getCategory());
+        product.setImageUrl(row.getImageUrl());
+        return product;
+    }
+
+    // State of one import: pending batches plus the running result
+    private class ImportRun {
+        private final long startedAt = System.nanoTime();
+        private final ProductImportResultDto result = new ProductImportResultDto();
+        private final List<Object[]> inserts = new ArrayList<>();
+        private final List<Integer> insertRows = new ArrayList<>();
+        private final List<Object[]> upserts = new ArrayList<>();
+        private final List<Integer> upsertRows = new ArrayList<>();
+
+        void accept(int rowNumber, Product product) {
+            result.setTotalRows(result.getTotalRows() + 1);
+            String error = productService.findValidationError(product);
+            if (error != null) {
+                reject(rowNumber, error);
+                return;
+            }
+            if (product.getId() == null) {
+                inserts.add(new Object[]{product.getName(), product.getDescription(), product.getPrice(),
+                        product.getStock(), product.getCategory(), product.getImageUrl()});
+                insertRows.add(rowNumber);
+                if (inserts.size() >= batchSize) {
+                    flushInserts();
+                }
+            } else {
+                upserts.add(new Object[]{product.getId(), product.getName(), product.getDescription(),
+                        product.getPrice(), product.getStock(), product.getCategory(), product.getImageUrl()});
+                upsertRows.add(rowNumber);
+                if (upserts.size() >= batchSize) {
+                    flushUpserts();
+                }
+            }
+        }
+
+        // A row that could not even be parsed into a product
+        void invalid(int rowNumber, String message) {
+            result.setTotalRows(result.getTotalRows() + 1);
+            reject(rowNumber, message);
+        }
+
+        void reject(int rowNumber, String message) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add(new ProductImportResultDto.RowError(rowNumber, message));
+            }
+        }
+
+        ProductImportResultDto finish() {
+            flushInserts();
+            flushUpserts();
+            if (result.getInserted() + result.getUpserted() > 0) {
+                productService.refreshAfterBulkChange();
+            }
+            long elapsedNanos = System.nanoTime() - startedAt;
+            result.setElapsedMillis(elapsedNanos / 1_000_000);
+            result.setRowsPerSecond(elapsedNanos == 0 ? 0 : result.getTotalRows() * 1_000_000_000.0 / elapsedNanos);
+            return result;
+        }
+
+        private void flushInserts() {
+            if (inserts.isEmpty()) {
+                return;
+            }
+            if (writeBatch(INSERT_SQL, inserts, insertRows)) {
+                result.setInserted(result.getInserted() + inserts.size());
+            }
+            inserts.clear();
+            insertRows.clear();
+        }
+
+        private void flushUpserts() {
+            if (upserts.isEmpty()) {
+                return;
+            }
+            if (writeBatch(UPSERT_SQL, upserts, upsertRows)) {
+                result.setUpserted(result.getUpserted() + upserts.size());
+            }
+            upserts.clear();
+            upsertRows.clear();
+        }
+
+        // False, with every row reported, when the batch was rolled back
+        private boolean writeBatch(String sql, List<Object[]> batch, List<Integer> rows) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+                return true;
+            } catch (DataAccessException | TransactionException e) {
+                failBatch(rows, e);
+                return false;
+            }
+        }
+
+        private void failBatch(List<Integer> rows, NestedRuntimeException e) {
+            String message = "Batch write failed: " + e.getMostSpecificCause().getMessage();
+            for (Integer row : rows) {
+                reject(row, message);
+            }
+        }
+    }
+
+    // Minimal RFC 4180 reader: quoted fields may contain commas, quotes ("") and line breaks
+    private static class CsvReader {
+        private final Reader reader;
+        private int pending = -2;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        List<String> readRecord() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        break;
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pending = next;
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private int read() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+}
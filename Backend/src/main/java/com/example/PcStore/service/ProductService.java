@@ -1,13 +1,31 @@
 package com.example.PcStore.service;
 
+import com.example.PcStore.dto.PriceBucketDto;
+import com.example.PcStore.dto.ProductPageDto;
+import com.example.PcStore.dto.ProductSearchCriteria;
+import com.example.PcStore.dto.ProductSearchResponse;
+import com.example.PcStore.dto.ProductSummaryDto;
+import com.example.PcStore.dto.TextSearchResponse;
 import com.example.PcStore.model.Product;
 import com.example.PcStore.repository.ProductRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class ProductService {
@@ -15,11 +33,273 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductTextIndex productTextIndex;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Value("${pcstore.products.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${pcstore.products.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${pcstore.products.search.price-buckets:100,250,500,1000,2000}")
+    private BigDecimal[] priceBucketBoundaries;
+
+    // Full entities, for the admin product table
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
+    // Storefront catalog list: summary rows only, served from the cache when warm
+    public List<ProductSummaryDto> getProductSummaries() {
+        List<ProductSummaryDto> cached = productCache.getAll();
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = productCache.stamp();
+        List<ProductSummaryDto> products = productRepository.findAllSummaries();
+        productCache.putAll(products, stamp);
+        return products;
+    }
+
+    /**
+     * Keyset-paginated catalog read. Sort keys are "id" (default), "price" and "name";
+     * the cursor is the opaque value returned as nextCursor by the previous page.
+     */
+    public ProductPageDto<ProductSummaryDto> getProductPage(String sort, String cursor, Integer limit) {
+        String sortKey = (sort == null || sort.isBlank()) ? "id" : sort.trim().toLowerCase();
+        int pageSize = resolvePageSize(limit);
+        // Fetch one extra row to know whether another page exists without a count query
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        String[] position = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor, sortKey);
+
+        List<ProductSummaryDto> rows;
+        switch (sortKey) {
+            case "id":
+                rows = productRepository.findPageById(position == null ? 0L : parseCursorId(position), pageable);
+                break;
+            case "price":
+                rows = position == null
+                        ? productRepository.findFirstPageByPrice(pageable)
+                        : productRepository.findPageByPrice(parseCursorPrice(position), parseCursorId(position), pageable);
+                break;
+            case "name":
+                rows = position == null
+                        ? productRepository.findFirstPageByName(pageable)
+                        : productRepository.findPageByName(position[2], parseCursorId(position), pageable);
+                break;
+            default:
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unsupported sort key: " + sort + " (expected id, price or name)");
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ProductSummaryDto> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(sortKey, items.get(items.size() - 1)) : null;
+        return new ProductPageDto<>(items, nextCursor, hasMore, sortKey, pageSize);
+    }
+
+    /**
+     * Filtered catalog search; predicates are pushed down to SQL and the response
+     * carries category and price-bucket facet counts for the same filter set.
+     */
+    public ProductSearchResponse<ProductSummaryDto> searchProducts(ProductSearchCriteria criteria, int page, Integer size, String sort) {
+        if (page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page index must not be negative");
+        }
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minPrice must not exceed maxPrice");
+        }
+        int pageSize = resolvePageSize(size);
+        Pageable pageable = PageRequest.of(page, pageSize, resolveSearchSort(sort));
+
+        List<ProductSummaryDto> items = productRepository.search(criteria, pageable);
+        long total = productRepository.countMatching(criteria);
+
+        Map<String, Long> categoryFacets = productRepository.countByCategory(criteria.withoutCategories());
+
+        List<BigDecimal> boundaries = Arrays.asList(priceBucketBoundaries);
+        long[] bucketCounts = productRepository.countByPriceBuckets(criteria.withoutPriceRange(), boundaries);
+        List<PriceBucketDto> priceFacets = new ArrayList<>();
+        for (int i = 0; i < bucketCounts.length; i++) {
+            BigDecimal min = i == 0 ? null : boundaries.get(i - 1);
+            BigDecimal max = i == boundaries.size() ? null : boundaries.get(i);
+            priceFacets.add(new PriceBucketDto(min, max, bucketCounts[i]));
+        }
+
+        return new ProductSearchResponse<>(items, total, page, pageSize, categoryFacets, priceFacets);
+    }
+
+    /**
+     * Ranked full-text search over name, category and description. Ranking and paging
+     * run against the in-memory index; the page's products come from the cache first.
+     */
+    public TextSearchResponse<ProductSummaryDto> textSearch(String query, int page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is required");
+        }
+        if (page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page index must not be negative");
+        }
+        int pageSize = resolvePageSize(size);
+        List<Long> rankedIds = productTextIndex.search(query);
+        int from = (int) Math.min((long) page * pageSize, rankedIds.size());
+        int to = Math.min(from + pageSize, rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+
+        Map<Long, ProductSummaryDto> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : pageIds) {
+            Product cached = productCache.get(id);
+            if (cached != null) {
+                found.put(id, ProductSummaryDto.from(cached));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (ProductSummaryDto summary : productRepository.findSummariesByIdIn(missing)) {
+                found.put(summary.getId(), summary);
+            }
+        }
+
+        List<ProductSummaryDto> items = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            ProductSummaryDto product = found.get(id);
+            if (product != null) {
+                items.add(product);
+            }
+        }
+        return new TextSearchResponse<>(query, items, rankedIds.size(), page, pageSize);
+    }
+
+    private Sort resolveSearchSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by("id");
+        }
+        switch (sort.trim().toLowerCase()) {
+            case "id":
+                return Sort.by("id");
+            case "price":
+            case "price_asc":
+                return Sort.by("price").ascending().and(Sort.by("id"));
+            case "price_desc":
+                return Sort.by("price").descending().and(Sort.by("id"));
+            case "name":
+                return Sort.by("name").ascending().and(Sort.by("id"));
+            default:
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unsupported sort: " + sort + " (expected id, price_asc, price_desc or name)");
+        }
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page limit must be positive");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    // Cursor layout before encoding: "<sort>:<id>:<sort value>"; the value goes last so it may contain ':'
+    private String encodeCursor(String sortKey, ProductSummaryDto last) {
+        String value;
+        switch (sortKey) {
+            case "price":
+                value = last.getPrice().toPlainString();
+                break;
+            case "name":
+                value = last.getName();
+                break;
+            default:
+                value = "";
+        }
+        String raw = sortKey + ":" + last.getId() + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor, String sortKey) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor");
+        }
+        String[] parts = raw.split(":", 3);
+        if (parts.length != 3 || !parts[0].equals(sortKey)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page cursor does not match sort: " + sortKey);
+        }
+        return parts;
+    }
+
+    private Long parseCursorId(String[] position) {
+        try {
+            return Long.valueOf(position[1]);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor");
+        }
+    }
+
+    private BigDecimal parseCursorPrice(String[] position) {
+        try {
+            return new BigDecimal(position[2]);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor");
+        }
+    }
+
     public Product getProduct(Long id) {
+        Product cached = productCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = productCache.stamp();
+        Product product = loadProduct(id);
+        productCache.put(product, stamp);
+        return product;
+    }
+
+    public String getCatalogEtag() {
+        return catalogVersions.etag(CatalogVersions.PRODUCTS);
+    }
+
+    /**
+     * ETag of a single product, read from the cache or a version-only query.
+     * Returns null when the product does not exist.
+     */
+    public String getProductEtag(Long id) {
+        Product cached = productCache.get(id);
+        Long version = cached != null
+                ? cached.getVersion()
+                : productRepository.findVersionById(id).orElse(null);
+        if (cached == null && version == null) {
+            return null;
+        }
+        return catalogVersions.entityEtag(CatalogVersions.PRODUCTS, id, version);
+    }
+
+    // Bulk writes bypass the entity layer, so drop derived state wholesale afterwards
+    public void refreshAfterBulkChange() {
+        productCache.clear();
+        productTextIndex.rebuild();
+        catalogVersions.bump(CatalogVersions.PRODUCTS);
+    }
+
+    public Map<String, Long> getCacheStats() {
+        return productCache.getStats();
+    }
+
+    // Always reads the database; writes must not mutate the shared cached instance
+    private Product loadProduct(Long id) {
         return productRepository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(
                 HttpStatus.NOT_FOUND, "Product not found with id: " + id));
@@ -27,24 +307,40 @@ public class ProductService {
 
     public Product createProduct(Product product) {
         // Basic validation
+        String validationError = findValidationError(product);
+        if (validationError != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, validationError);
+        }
+        
+        Product saved = productRepository.save(product);
+        productCache.invalidate(saved.getId());
+        productTextIndex.index(saved);
+        catalogVersions.bump(CatalogVersions.PRODUCTS);
+        return saved;
+    }
+
+    /**
+     * Validation rules for a new product, shared with the bulk import.
+     * Returns the first violated rule, or null when the product is valid.
+     */
+    public String findValidationError(Product product) {
         if (product.getName() == null || product.getName().trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Product name is required");
+            return "Product name is required";
         }
         if (product.getPrice() == null || product.getPrice().signum() <= 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Valid price is required");
+            return "Valid price is required";
         }
         if (product.getStock() == null || product.getStock() < 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Valid stock quantity is required");
+            return "Valid stock quantity is required";
         }
         if (product.getCategory() == null || product.getCategory().trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category is required");
+            return "Category is required";
         }
-        
-        return productRepository.save(product);
+        return null;
     }
 
     public Product updateProduct(Long id, Product productDetails) {
-        Product product = getProduct(id);
+        Product product = loadProduct(id);
         
         // Update the fields if they are provided
         if (productDetails.getName() != null) {
@@ -66,23 +362,33 @@ public class ProductService {
             product.setImageUrl(productDetails.getImageUrl());
         }
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productCache.invalidate(id);
+        productTextIndex.index(saved);
+        catalogVersions.bump(CatalogVersions.PRODUCTS);
+        return saved;
     }
 
     @Transactional
     public Product updateStock(Long productId, int quantityChange) {
-        Product product = getProduct(productId);
-
-        int newStock = product.getStock() + quantityChange;
-        if (newStock < 0) {
+        // Adjust in the database so concurrent callers cannot lose each other's updates
+        int updated = quantityChange < 0
+                ? productRepository.decrementStock(productId, -quantityChange)
+                : productRepository.incrementStock(productId, quantityChange);
+        if (updated == 0) {
+            Integer current = productRepository.findStockById(productId)
+                    .orElseThrow(() -> new ResponseStatusException(
+                            HttpStatus.NOT_FOUND, "Product not found with id: " + productId));
             throw new IllegalStateException(
                     String.format("Insufficient stock. Current: %d, Requested change: %d",
-                            product.getStock(), quantityChange)
+                            current, quantityChange)
             );
         }
 
-        product.setStock(newStock);
-        return productRepository.save(product);
+        Product saved = loadProduct(productId);
+        productCache.invalidate(productId);
+        catalogVersions.bump(CatalogVersions.PRODUCTS);
+        return saved;
     }
     public void deleteProduct(Long id) {
         if (!productRepository.existsById(id)) {
@@ -90,5 +396,8 @@ public class ProductService {
                 HttpStatus.NOT_FOUND, "Product not found with id: " + id);
         }
         productRepository.deleteById(id);
+        productCache.invalidate(id);
+        productTextIndex.remove(id);
+        catalogVersions.bump(CatalogVersions.PRODUCTS);
     }
 }
@@ -0,0 +1,233 @@
+package com.example.PcStore.service;
+
+import com.example.PcStore.model.Product;
+import com.example.PcStore.repository.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name, category and description.
+ * Rebuilt from the database at startup and kept current by ProductService;
+ * queries are ranked with BM25 and never touch MySQL.
+ */
+@Component
+public class ProductTextIndex {
+
+    // Field boosts applied to term frequencies at index time
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "the", "of", "for", "with", "in", "on", "to", "or", "is");
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (product id -> weighted term frequency)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // product id -> weighted document length, and the terms it was indexed under for cheap removal
+    private final Map<Long, Integer> docLengths = new HashMap<>();
+    private final Map<Long, Set<String>> docTerms = new HashMap<>();
+    private long totalLength;
+    // Non-null while a rebuild loads from the database: the latest index (or null for remove) per id
+    private Map<Long, Product> duringRebuild;
+
+    public ProductTextIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Reloads every product. The load runs without the lock, so index and remove
+     * calls made meanwhile are recorded and replayed on top of the loaded rows;
+     * otherwise a write committed after the read would vanish from the index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        setDuringRebuild(new HashMap<>());
+        List<Product> products;
+        try {
+            products = productRepository.findAll();
+        } catch (RuntimeException e) {
+            setDuringRebuild(null);
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docLengths.clear();
+            docTerms.clear();
+            totalLength = 0;
+            for (Product product : products) {
+                addDocument(product);
+            }
+            for (Map.Entry<Long, Product> update : duringRebuild.entrySet()) {
+                removeDocument(update.getKey());
+                if (update.getValue() != null) {
+                    addDocument(update.getValue());
+                }
+            }
+            duringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(product.getId());
+            addDocument(product);
+            if (duringRebuild != null) {
+                duringRebuild.put(product.getId(), product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+            if (duringRebuild != null) {
+                duringRebuild.put(productId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns every matching product id, best match first. Documents matching any
+     * query term qualify; more matched terms and rarer terms rank higher.
+     */
+    public List<Long> search(String query) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int docCount = docLengths.size();
+            if (docCount == 0) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / docCount;
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> docs = postings.get(term);
+                if (docs == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - docs.size() + 0.5) / (docs.size() + 0.5));
+                for (Map.Entry<Long, Integer> posting : docs.entrySet()) {
+                    int tf = posting.getValue();
+                    double norm = K1 * (1 - B + B * docLengths.get(posting.getKey()) / avgLength);
+                    scores.merge(posting.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+            List<Long> ids = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Double> entry : ranked) {
+                ids.add(entry.getKey());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void setDuringRebuild(Map<Long, Product> updates) {
+        lock.writeLock().lock();
+        try {
+            duringRebuild = updates;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void addDocument(Product product) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        countTerms(product.getName(), NAME_WEIGHT, frequencies);
+        countTerms(product.getCategory(), CATEGORY_WEIGHT, frequencies);
+        countTerms(product.getDescription(), DESCRIPTION_WEIGHT, frequencies);
+
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(product.getId(), entry.getValue());
+            length += entry.getValue();
+        }
+        docLengths.put(product.getId(), length);
+        docTerms.put(product.getId(), frequencies.keySet());
+        totalLength += length;
+    }
+
+    // Callers hold the write lock
+    private void removeDocument(Long productId) {
+        Set<String> terms = docTerms.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(productId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        Integer length = docLengths.remove(productId);
+        if (length != null) {
+            totalLength -= length;
+        }
+    }
+
+    private static void countTerms(String text, int weight, Map<String, Integer> frequencies) {
+        for (String term : tokenize(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
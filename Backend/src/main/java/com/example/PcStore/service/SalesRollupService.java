@@ -0,0 +1,207 @@
+package com.example.PcStore.service;
+
+import com.example.PcStore.dto.CategorySalesDto;
+import com.example.PcStore.dto.DailySalesDto;
+import com.example.PcStore.dto.ProductSalesDto;
+import com.example.PcStore.dto.SalesAnalyticsDto;
+import com.example.PcStore.model.Order;
+import com.example.PcStore.model.OrderItem;
+import com.example.PcStore.model.Product;
+import com.example.PcStore.repository.DailySalesRollupRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps daily_sales_rollups in step with orders. OrderService calls recordOrder
+ * and removeOrder inside its own transaction, so a rollup never counts an order
+ * that did not commit. Writes are JDBC batches: one UPDATE per product line, plus
+ * an INSERT for the products that had no row for that day yet.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final String ADD_SQL =
+            "UPDATE daily_sales_rollups SET units = units + ?, revenue = revenue + ?, order_lines = order_lines + ? " +
+            "WHERE sales_date = ? AND product_id = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO daily_sales_rollups (sales_date, product_id, product_name, category, units, revenue, order_lines) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // Lines of one order as they were sold, read before the order is deleted
+    private static final String ORDER_LINES_SQL =
+            "SELECT o.order_date, i.product_id, i.quantity, i.line_total FROM orders o " +
+            "JOIN order_item i ON i.order_id = o.id WHERE o.id = ?";
+
+    // Archived orders were sales too, so live and archive tables are read together
+    private static final String REBUILD_SQL =
+            "INSERT INTO daily_sales_rollups (sales_date, product_id, product_name, category, units, revenue, order_lines) " +
+            "SELECT o.order_date, i.product_id, MAX(p.name), MAX(p.category), SUM(i.quantity), SUM(i.line_total), COUNT(*) " +
+            "FROM (SELECT id, order_date FROM orders UNION ALL SELECT id, order_date FROM orders_archive) o " +
+            "JOIN (SELECT order_id, product_id, quantity, line_total FROM order_item " +
+            "UNION ALL SELECT order_id, product_id, quantity, line_total FROM order_item_archive) i ON i.order_id = o.id " +
+            "LEFT JOIN products p ON p.id = i.product_id " +
+            "WHERE o.order_date IS NOT NULL AND i.line_total IS NOT NULL GROUP BY o.order_date, i.product_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DailySalesRollupRepository rollupRepository;
+
+    @Value("${pcstore.analytics.default-days:30}")
+    private int defaultDays;
+
+    @Value("${pcstore.analytics.max-days:366}")
+    private int maxDays;
+
+    @Value("${pcstore.analytics.top-products:10}")
+    private int topProducts;
+
+    @Value("${pcstore.analytics.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    public SalesRollupService(JdbcTemplate jdbcTemplate, DailySalesRollupRepository rollupRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollupRepository = rollupRepository;
+    }
+
+    // Items must reference loaded products, as they do at checkout where every product is locked
+    public void recordOrder(Order order) {
+        Date salesDate = salesDate(order.getOrderDate());
+        Map<Long, Line> lines = new LinkedHashMap<>();
+        for (OrderItem item : order.getItems()) {
+            Product product = item.getProduct();
+            Line line = lines.computeIfAbsent(product.getId(),
+                    id -> new Line(product.getName(), product.getCategory()));
+            line.add(item.getQuantity(), item.getLineTotal());
+        }
+        apply(salesDate, lines, 1);
+    }
+
+    public void removeOrder(Long orderId) {
+        Map<Long, Line> lines = new LinkedHashMap<>();
+        Date[] salesDate = new Date[1];
+        jdbcTemplate.query(ORDER_LINES_SQL, rs -> {
+            salesDate[0] = rs.getDate(1);
+            lines.computeIfAbsent(rs.getLong(2), id -> new Line(null, null))
+                    .add(rs.getInt(3), rs.getBigDecimal(4));
+        }, orderId);
+        if (salesDate[0] != null) {
+            apply(salesDate[0], lines, -1);
+        }
+    }
+
+    /**
+     * Recomputes every rollup row from orders, for backfill or after a manual data fix.
+     * Runs as one transaction, so the dashboard sees either the old or the new figures.
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM daily_sales_rollups");
+        return jdbcTemplate.update(REBUILD_SQL);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    public SalesAnalyticsDto getSales(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(defaultDays - 1L);
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Date range must not exceed " + maxDays + " days");
+        }
+
+        List<DailySalesDto> days = rollupRepository.findDailyTotals(start, end);
+        List<CategorySalesDto> categories = rollupRepository.findCategoryTotals(start, end);
+        List<ProductSalesDto> products = rollupRepository.findTopProducts(start, end, PageRequest.of(0, topProducts));
+
+        long units = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (DailySalesDto day : days) {
+            units += day.getUnits();
+            revenue = revenue.add(day.getRevenue());
+        }
+        return new SalesAnalyticsDto(start, end, units, revenue, days, categories, products);
+    }
+
+    private void apply(Date salesDate, Map<Long, Line> lines, int sign) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        List<Long> productIds = new ArrayList<>(lines.keySet());
+        List<Object[]> updates = new ArrayList<>(lines.size());
+        for (Long productId : productIds) {
+            Line line = lines.get(productId);
+            updates.add(new Object[]{sign * line.units, line.revenue.multiply(BigDecimal.valueOf(sign)),
+                    sign * line.count, salesDate, productId});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(ADD_SQL, updates);
+
+        // Only a sale can create a row; concurrent checkouts for one product are serialized by its row lock
+        if (sign < 0) {
+            return;
+        }
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < productIds.size(); i++) {
+            if (updated[i] == 0) {
+                Line line = lines.get(productIds.get(i));
+                inserts.add(new Object[]{salesDate, productIds.get(i), line.name, line.category,
+                        line.units, line.revenue, line.count});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+    }
+
+    private static Date salesDate(java.util.Date orderDate) {
+        Instant instant = Instant.ofEpochMilli(orderDate != null ? orderDate.getTime() : System.currentTimeMillis());
+        return Date.valueOf(instant.atZone(ZoneId.systemDefault()).toLocalDate());
+    }
+
+    private static final class Line {
+        private final String name;
+        private final String category;
+        private long units;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long count;
+
+        private Line(String name, String category) {
+            this.name = name;
+            this.category = category;
+        }
+
+        private void add(int quantity, BigDecimal lineTotal) {
+            units += quantity;
+            if (lineTotal != null) {
+                revenue = revenue.add(lineTotal);
+            }
+            count++;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.PcStore.service;
+
+import com.example.PcStore.dto.ProductAvailabilityDto;
+import com.example.PcStore.dto.StockReservationDto;
+import com.example.PcStore.dto.StockReservationRequestDto;
+import com.example.PcStore.model.StockReservation;
+import com.example.PcStore.repository.ProductRepository;
+import com.example.PcStore.repository.StockReservationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart holds against Product.stock. A hold does not change the stock column; it is
+ * counted in an in-memory ledger of reserved quantity per product, so availability
+ * is stock minus one map lookup. Each hold is also stored in stock_reservations so
+ * the ledger survives a restart, and a scheduled sweeper releases expired holds.
+ * A hold belongs to the user who placed it: only they can release it, and checkout
+ * only counts and consumes the holds of the user placing the order. Each user may
+ * have a limited number of live holds and units, so one account cannot tie up the
+ * stock by reserving everything and re-reserving as holds expire.
+ */
+@Service
+public class StockReservationService {
+
+    private final StockReservationRepository reservationRepository;
+    private final ProductRepository productRepository;
+
+    private final long ttlSeconds;
+    private final int maxQuantity;
+
+    @Value("${pcstore.reservations.max-holds-per-user:20}")
+    private int maxHoldsPerOwner;
+
+    @Value("${pcstore.reservations.max-units-per-user:50}")
+    private int maxUnitsPerOwner;
+
+    // product id -> quantity held by live reservations
+    private final Map<Long, Integer> reserved = new ConcurrentHashMap<>();
+    // reservation id -> hold, for release and checkout
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+    // owner -> live holds and units, for the per-user limits
+    private final Map<String, OwnerTotals> owners = new ConcurrentHashMap<>();
+    // Holds in expiry order; released ones are skipped when they come due
+    private final DelayQueue<Hold> expiries = new DelayQueue<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${pcstore.reservations.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    public StockReservationService(StockReservationRepository reservationRepository,
+                                   ProductRepository productRepository,
+                                   @Value("${pcstore.reservations.ttl-seconds:900}") long ttlSeconds,
+                                   @Value("${pcstore.reservations.max-quantity:10}") int maxQuantity) {
+        this.reservationRepository = reservationRepository;
+        this.productRepository = productRepository;
+        this.ttlSeconds = ttlSeconds;
+        this.maxQuantity = maxQuantity;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadLedger() {
+        LocalDateTime now = LocalDateTime.now();
+        reservationRepository.deleteExpired(now);
+        for (StockReservation reservation : reservationRepository.findByExpiresAtAfter(now)) {
+            track(new Hold(reservation.getId(), reservation.getProductId(), reservation.getQuantity(),
+                    reservation.getExpiresAt(), reservation.getOwner()));
+        }
+    }
+
+    @Transactional
+    public StockReservationDto reserve(StockReservationRequestDto request, String owner) {
+        if (request == null || request.getProductId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Product id is required");
+        }
+        if (request.getQuantity() <= 0 || request.getQuantity() > maxQuantity) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Quantity must be between 1 and " + maxQuantity);
+        }
+        if (owner == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Reservations require a logged-in user");
+        }
+        Long productId = request.getProductId();
+        int stock = productRepository.findStockById(productId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Product not found with ID: " + productId));
+
+        // Owner limits first, then stock, each checked and added in one atomic step
+        owners.compute(owner, (key, totals) -> {
+            OwnerTotals current = totals == null ? OwnerTotals.NONE : totals;
+            if (current.holds >= maxHoldsPerOwner || current.units + request.getQuantity() > maxUnitsPerOwner) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "At most " + maxHoldsPerOwner + " reservations and " + maxUnitsPerOwner
+                                + " units can be held at a time");
+            }
+            return current.plus(1, request.getQuantity());
+        });
+        try {
+            reserved.compute(productId, (id, held) -> {
+                int current = held == null ? 0 : held;
+                if (stock - current < request.getQuantity()) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Only " + Math.max(0, stock - current) + " available for product " + productId);
+                }
+                return current + request.getQuantity();
+            });
+        } catch (RuntimeException e) {
+            releaseOwner(owner, request.getQuantity());
+            throw e;
+        }
+
+        Hold hold = new Hold(UUID.randomUUID().toString(), productId, request.getQuantity(),
+                LocalDateTime.now().plusSeconds(ttlSeconds), owner);
+        holds.put(hold.id, hold);
+        expiries.add(hold);
+        try {
+            // persist, not save: the id is assigned, and save would SELECT it first to choose merge
+            entityManager.persist(new StockReservation(hold.id, productId, hold.quantity, hold.expiresAt, owner));
+        } catch (RuntimeException e) {
+            forget(hold.id);
+            throw e;
+        }
+        afterRollback(() -> forget(hold.id));
+        return new StockReservationDto(hold.id, productId, hold.quantity, hold.expiresAt);
+    }
+
+    @Transactional
+    public void release(String reservationId, String owner) {
+        // Someone else's hold gets the same answer as a missing one
+        if (ownHold(reservationId, owner) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Reservation not found: " + reservationId);
+        }
+        reservationRepository.deleteByIdIn(List.of(reservationId));
+        forget(reservationId);
+    }
+
+    public ProductAvailabilityDto getAvailability(Long productId) {
+        int stock = productRepository.findStockById(productId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Product not found with ID: " + productId));
+        int held = reservedQuantity(productId);
+        return new ProductAvailabilityDto(productId, stock, held, Math.max(0, stock - held));
+    }
+
+    public int reservedQuantity(Long productId) {
+        return reserved.getOrDefault(productId, 0);
+    }
+
+    /**
+     * Quantity per product held by the given live reservations of the owner. Checkout
+     * counts these as the customer's own stock rather than as someone else's hold;
+     * ids that are expired or belong to another user are ignored.
+     */
+    public Map<Long, Integer> heldBy(Collection<String> reservationIds, String owner) {
+        Map<Long, Integer> own = new HashMap<>();
+        if (reservationIds != null) {
+            for (String id : reservationIds) {
+                Hold hold = ownHold(id, owner);
+                if (hold != null) {
+                    own.merge(hold.productId, hold.quantity, Integer::sum);
+                }
+            }
+        }
+        return own;
+    }
+
+    // Called by checkout in its transaction; the ledger is released once the order commits.
+    // Only the owner's holds are consumed, the same ones heldBy counted.
+    public void consume(Collection<String> reservationIds, String owner) {
+        if (reservationIds == null || reservationIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(reservationIds.size());
+        for (String id : reservationIds) {
+            if (ownHold(id, owner) != null) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        reservationRepository.deleteByIdIn(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(StockReservationService.this::forget);
+                }
+            });
+        } else {
+            ids.forEach(this::forget);
+        }
+    }
+
+    // Releases expired holds a batch at a time: ledger first, then one DELETE per batch
+    @Scheduled(fixedDelayString = "${pcstore.reservations.sweep-interval-millis:30000}")
+    @Transactional
+    public void sweepExpired() {
+        List<Hold> due = new ArrayList<>(sweepBatchSize);
+        while (expiries.drainTo(due, sweepBatchSize) > 0) {
+            List<String> ids = new ArrayList<>(due.size());
+            for (Hold hold : due) {
+                if (forget(hold.id)) {
+                    ids.add(hold.id);
+                }
+            }
+            if (!ids.isEmpty()) {
+                reservationRepository.deleteByIdIn(ids);
+            }
+            due.clear();
+        }
+    }
+
+    // Null unless the hold is live and was placed by the owner
+    private Hold ownHold(String reservationId, String owner) {
+        Hold hold = reservationId == null ? null : holds.get(reservationId);
+        return hold != null && owner != null && owner.equals(hold.owner) ? hold : null;
+    }
+
+    private void track(Hold hold) {
+        holds.put(hold.id, hold);
+        expiries.add(hold);
+        reserved.merge(hold.productId, hold.quantity, Integer::sum);
+        if (hold.owner != null) {
+            owners.merge(hold.owner, OwnerTotals.NONE.plus(1, hold.quantity),
+                    (current, added) -> current.plus(added.holds, added.units));
+        }
+    }
+
+    private void releaseOwner(String owner, int quantity) {
+        if (owner != null) {
+            owners.computeIfPresent(owner, (key, totals) -> totals.holds <= 1 ? null : totals.plus(-1, -quantity));
+        }
+    }
+
+    // Returns false if the hold was already released
+    private boolean forget(String reservationId) {
+        Hold hold = holds.remove(reservationId);
+        if (hold == null) {
+            return false;
+        }
+        reserved.computeIfPresent(hold.productId, (id, held) -> held - hold.quantity <= 0 ? null : held - hold.quantity);
+        releaseOwner(hold.owner, hold.quantity);
+        return true;
+    }
+
+    private static void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+
+    private static final class OwnerTotals {
+        private static final OwnerTotals NONE = new OwnerTotals(0, 0);
+
+        private final int holds;
+        private final int units;
+
+        private OwnerTotals(int holds, int units) {
+            this.holds = holds;
+            this.units = units;
+        }
+
+        private OwnerTotals plus(int holds, int units) {
+            return new OwnerTotals(this.holds + holds, this.units + units);
+        }
+    }
+
+    private static final class Hold implements Delayed {
+        private final String id;
+        private final Long productId;
+        private final int quantity;
+        private final LocalDateTime expiresAt;
+        private final String owner;
+        private final long expiresAtNanos;
+
+        private Hold(String id, Long productId, int quantity, LocalDateTime expiresAt, String owner) {
+            this.id = id;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.expiresAt = expiresAt;
+            this.owner = owner;
+            long millisLeft = Duration.between(LocalDateTime.now(), expiresAt).toMillis();
+            this.expiresAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millisLeft);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtNanos, ((Hold) other).expiresAtNanos);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.example.PcStore.service.inventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Branch-and-bound search for the builds that spend the most of a budget, taking
+ * exactly one candidate per part type. Candidates of each type are sorted by price,
+ * so once the best total reachable from a branch cannot beat the current N-th best
+ * build the rest of that level is cut off. The first few levels are split into
+ * fork/join tasks that share one top-N list, and every task stops at the deadline
+ * so a caller always gets the best builds found so far.
+ */
+public class BuildSearch {
+
+    private static final int DEADLINE_CHECK_MASK = 1023;
+    private static final int TASKS_PER_THREAD = 16;
+
+    private final List<List<Candidate>> candidatesByType;
+    // Prices and totals are kept in cents so sums are exact and a build can hit the budget exactly
+    private final long budget;
+    private final boolean sameBrand;
+
+    // Search levels ordered by candidate count, smallest first; typeOf maps a level back to its input type
+    private final int levels;
+    private final int[] typeOf;
+    private final Candidate[][] candidates;
+    private final long[][] prices;
+    private final int[][] brands;
+    // Cheapest and dearest total of the levels from index i onwards
+    private final long[] minFrom;
+    private final long[] maxFrom;
+
+    private final TopBuilds top;
+    private final LongAdder nodes = new LongAdder();
+    private long deadlineNanos;
+    private volatile boolean timedOut;
+
+    public BuildSearch(List<List<Candidate>> candidatesByType, double budget, int limit, boolean sameBrand) {
+        this.candidatesByType = candidatesByType;
+        this.budget = (long) Math.floor(budget * 100 + 1e-6);
+        this.sameBrand = sameBrand;
+        this.top = new TopBuilds(limit);
+
+        levels = candidatesByType.size();
+        Integer[] order = new Integer[levels];
+        for (int i = 0; i < levels; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> candidatesByType.get(i).size()));
+
+        typeOf = new int[levels];
+        candidates = new Candidate[levels][];
+        prices = new long[levels][];
+        brands = new int[levels][];
+        minFrom = new long[levels + 1];
+        maxFrom = new long[levels + 1];
+        Map<String, Integer> brandCodes = new HashMap<>();
+        for (int level = 0; level < levels; level++) {
+            typeOf[level] = order[level];
+            Candidate[] sorted = candidatesByType.get(order[level]).toArray(new Candidate[0]);
+            Arrays.sort(sorted, Comparator.comparingDouble(Candidate::getPrice).reversed());
+            candidates[level] = sorted;
+            prices[level] = new long[sorted.length];
+            brands[level] = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                prices[level][i] = Math.round(sorted[i].getPrice() * 100);
+                String brand = sorted[i].getBrand() == null ? "" : sorted[i].getBrand().toLowerCase(Locale.ROOT);
+                brands[level][i] = brandCodes.computeIfAbsent(brand, b -> brandCodes.size());
+            }
+        }
+        for (int level = levels - 1; level >= 0; level--) {
+            long[] p = prices[level];
+            minFrom[level] = minFrom[level + 1] + (p.length == 0 ? 0 : p[p.length - 1]);
+            maxFrom[level] = maxFrom[level + 1] + (p.length == 0 ? 0 : p[0]);
+        }
+    }
+
+    public Result run(ForkJoinPool pool, long timeBudgetNanos) {
+        long start = System.nanoTime();
+        deadlineNanos = start + timeBudgetNanos;
+        boolean feasible = levels > 0;
+        for (long[] p : prices) {
+            feasible &= p.length > 0;
+        }
+        if (feasible && minFrom[0] <= budget) {
+            pool.invoke(new Branch(splitDepth(pool.getParallelism()), 0, new int[levels], 0, -1));
+        }
+
+        List<Found> found = top.drain();
+        List<List<Candidate>> builds = new ArrayList<>(found.size());
+        for (Found build : found) {
+            Candidate[] parts = new Candidate[levels];
+            for (int level = 0; level < levels; level++) {
+                parts[typeOf[level]] = candidates[level][build.picks[level]];
+            }
+            builds.add(Arrays.asList(parts));
+        }
+        return new Result(builds, !timedOut, nodes.sum(), System.nanoTime() - start);
+    }
+
+    public int candidateCount() {
+        int count = 0;
+        for (List<Candidate> typeCandidates : candidatesByType) {
+            count += typeCandidates.size();
+        }
+        return count;
+    }
+
+    // Split until there are enough branches to keep every worker busy
+    private int splitDepth(int parallelism) {
+        long width = 1;
+        int depth = 0;
+        while (depth < levels - 1 && width < (long) parallelism * TASKS_PER_THREAD) {
+            width *= prices[depth].length;
+            depth++;
+        }
+        return depth;
+    }
+
+    private void descend(int level, int[] picks, long cost, int brand, long[] visited) {
+        if (level == levels) {
+            top.offer(cost, picks);
+            return;
+        }
+        long[] p = prices[level];
+        for (int i = firstAffordable(p, budget - cost - minFrom[level + 1]); i < p.length; i++) {
+            if ((++visited[0] & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() > deadlineNanos) {
+                timedOut = true;
+            }
+            if (timedOut) {
+                return;
+            }
+            long total = cost + p[i];
+            // Prices only fall from here, so no later candidate can do better either
+            if (Math.min(budget, total + maxFrom[level + 1]) <= top.threshold()) {
+                return;
+            }
+            if (sameBrand && brand >= 0 && brands[level][i] != brand) {
+                continue;
+            }
+            picks[level] = i;
+            descend(level + 1, picks, total, brands[level][i], visited);
+        }
+    }
+
+    // Index of the dearest candidate that still leaves room for the cheapest of every later type
+    private static int firstAffordable(long[] descendingPrices, long room) {
+        int low = 0;
+        int high = descendingPrices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (descendingPrices[mid] > room) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private final class Branch extends RecursiveAction {
+        private final int splitDepth;
+        private final int level;
+        private final int[] picks;
+        private final long cost;
+        private final int brand;
+
+        private Branch(int splitDepth, int level, int[] picks, long cost, int brand) {
+            this.splitDepth = splitDepth;
+            this.level = level;
+            this.picks = picks;
+            this.cost = cost;
+            this.brand = brand;
+        }
+
+        @Override
+        protected void compute() {
+            long[] visited = new long[1];
+            if (level >= splitDepth) {
+                descend(level, picks, cost, brand, visited);
+                nodes.add(visited[0]);
+                return;
+            }
+            long[] p = prices[level];
+            List<Branch> forks = new ArrayList<>();
+            for (int i = firstAffordable(p, budget - cost - minFrom[level + 1]); i < p.length && !timedOut; i++) {
+                visited[0]++;
+                long total = cost + p[i];
+                if (Math.min(budget, total + maxFrom[level + 1]) <= top.threshold()) {
+                    break;
+                }
+                if (sameBrand && brand >= 0 && brands[level][i] != brand) {
+                    continue;
+                }
+                int[] branchPicks = picks.clone();
+                branchPicks[level] = i;
+                forks.add(new Branch(splitDepth, level + 1, branchPicks, total, brands[level][i]));
+            }
+            nodes.add(visited[0]);
+            invokeAll(forks);
+        }
+    }
+
+    /**
+     * The N best builds so far. The threshold is read without locking on every
+     * node, so it is kept in a volatile field next to the heap.
+     */
+    private static final class TopBuilds {
+        private final int limit;
+        private final PriorityQueue<Found> heap = new PriorityQueue<>(Comparator.comparingLong(f -> f.total));
+        private volatile long threshold = -1;
+
+        private TopBuilds(int limit) {
+            this.limit = Math.max(1, limit);
+        }
+
+        private long threshold() {
+            return threshold;
+        }
+
+        private synchronized void offer(long total, int[] picks) {
+            if (heap.size() >= limit) {
+                if (total <= heap.peek().total) {
+                    return;
+                }
+                heap.poll();
+            }
+            heap.add(new Found(total, picks.clone()));
+            if (heap.size() == limit) {
+                threshold = heap.peek().total;
+            }
+        }
+
+        // Best first
+        private synchronized List<Found> drain() {
+            List<Found> found = new ArrayList<>(heap);
+            found.sort(Comparator.comparingLong((Found f) -> f.total).reversed());
+            return found;
+        }
+    }
+
+    private static final class Found {
+        private final long total;
+        private final int[] picks;
+
+        private Found(long total, int[] picks) {
+            this.total = total;
+            this.picks = picks;
+        }
+    }
+
+    public static final class Candidate {
+        private final Long id;
+        private final String partName;
+        private final String type;
+        private final String brand;
+        private final Long pcId;
+        private final double price;
+
+        public Candidate(Long id, String partName, String type, String brand, Long pcId, double price) {
+            this.id = id;
+            this.partName = partName;
+            this.type = type;
+            this.brand = brand;
+            this.pcId = pcId;
+            this.price = price;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getPartName() {
+            return partName;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getBrand() {
+            return brand;
+        }
+
+        public Long getPcId() {
+            return pcId;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+    }
+
+    public static final class Result {
+        private final List<List<Candidate>> builds;
+        private final boolean complete;
+        private final long nodesVisited;
+        private final long elapsedNanos;
+
+        private Result(List<List<Candidate>> builds, boolean complete, long nodesVisited, long elapsedNanos) {
+            this.builds = builds;
+            this.complete = complete;
+            this.nodesVisited = nodesVisited;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<List<Candidate>> getBuilds() {
+            return builds;
+        }
+
+        // False when the deadline cut the search short; the builds are then the best found in time
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public long getNodesVisited() {
+            return nodesVisited;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.PcStore.service.inventory;
+
+import com.example.PcStore.dto.inventory.BuildDto;
+import com.example.PcStore.dto.inventory.BuildRequestDto;
+import com.example.PcStore.dto.inventory.BuildSearchResultDto;
+import com.example.PcStore.dto.inventory.PartDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PC configurator: finds the builds that make the most of a budget with one part of
+ * each required type. Candidates are filtered in SQL, identical offers are collapsed,
+ * and the search itself runs on a dedicated fork/join pool within a time budget.
+ * The catalog has no socket or form-factor data, so a build is compatible when it has
+ * one part per type and, if asked, all parts come from the same brand.
+ */
+@Service
+public class ConfiguratorService {
+
+    // A part's brand is the brand of the PC it was listed with
+    private static final String CANDIDATES_SQL =
+            "SELECT p.id, p.part_name, p.type, p.price, p.pc_id, pc.brand FROM pc_part p " +
+            "LEFT JOIN pc ON pc.id = p.pc_id WHERE UPPER(p.type) IN (:types) AND p.price <= :maxPrice";
+
+    private static final String BRAND_FILTER_SQL = " AND UPPER(pc.brand) IN (:brands)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ForkJoinPool pool;
+
+    @Value("${pcstore.configurator.time-budget-millis:500}")
+    private long timeBudgetMillis;
+
+    @Value("${pcstore.configurator.default-limit:5}")
+    private int defaultLimit;
+
+    @Value("${pcstore.configurator.max-limit:20}")
+    private int maxLimit;
+
+    @Value("${pcstore.configurator.max-types:12}")
+    private int maxTypes;
+
+    public ConfiguratorService(NamedParameterJdbcTemplate jdbcTemplate,
+                               @Value("${pcstore.configurator.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    public BuildSearchResultDto findBuilds(BuildRequestDto request) {
+        long start = System.nanoTime();
+        List<String> types = validate(request);
+        int limit = request.getLimit() == null ? defaultLimit : request.getLimit();
+
+        double maxPrice = request.getBudget();
+        if (request.getMaxPartPrice() != null) {
+            maxPrice = Math.min(maxPrice, request.getMaxPartPrice());
+        }
+        BuildSearch search = new BuildSearch(loadCandidates(types, request.getBrands(), maxPrice),
+                request.getBudget(), limit, request.isSameBrand());
+
+        // Loading the candidates counts against the same budget
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis) - (System.nanoTime() - start);
+        BuildSearch.Result result = search.run(pool, Math.max(0, remaining));
+
+        List<BuildDto> builds = new ArrayList<>(result.getBuilds().size());
+        for (List<BuildSearch.Candidate> parts : result.getBuilds()) {
+            builds.add(toBuild(parts));
+        }
+        return new BuildSearchResultDto(builds, result.isComplete(), search.candidateCount(),
+                result.getNodesVisited(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // Upper-cased, de-duplicated types in request order
+    private List<String> validate(BuildRequestDto request) {
+        if (request == null || request.getBudget() == null || request.getBudget() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Budget must be greater than zero");
+        }
+        if (request.getRequiredTypes() == null || request.getRequiredTypes().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one part type is required");
+        }
+        if (request.getLimit() != null && (request.getLimit() < 1 || request.getLimit() > maxLimit)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + maxLimit);
+        }
+        List<String> types = new ArrayList<>();
+        for (String type : request.getRequiredTypes()) {
+            if (type == null || type.isBlank()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Part types must not be blank");
+            }
+            String normalized = type.trim().toUpperCase(Locale.ROOT);
+            if (!types.contains(normalized)) {
+                types.add(normalized);
+            }
+        }
+        if (types.size() > maxTypes) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxTypes + " part types are allowed");
+        }
+        return types;
+    }
+
+    private List<List<BuildSearch.Candidate>> loadCandidates(List<String> types, List<String> brands, double maxPrice) {
+        String sql = CANDIDATES_SQL;
+        MapSqlParameterSource params = new MapSqlParameterSource("types", types).addValue("maxPrice", maxPrice);
+        if (brands != null && !brands.isEmpty()) {
+            List<String> upperBrands = new ArrayList<>(brands.size());
+            for (String brand : brands) {
+                if (brand != null && !brand.isBlank()) {
+                    upperBrands.add(brand.trim().toUpperCase(Locale.ROOT));
+                }
+            }
+            if (!upperBrands.isEmpty()) {
+                sql += BRAND_FILTER_SQL;
+                params.addValue("brands", upperBrands);
+            }
+        }
+
+        // Every PC lists its own copy of a part, so the same offer appears many times; keep one
+        Map<String, Map<String, BuildSearch.Candidate>> byType = new LinkedHashMap<>();
+        for (String type : types) {
+            byType.put(type, new HashMap<>());
+        }
+        jdbcTemplate.query(sql, params, rs -> {
+            long id = rs.getLong(1);
+            String partName = rs.getString(2);
+            String type = rs.getString(3);
+            double price = rs.getDouble(4);
+            long pcId = rs.getLong(5);
+            Long pc = rs.wasNull() ? null : pcId;
+            String brand = rs.getString(6);
+            String key = (partName == null ? "" : partName.toLowerCase(Locale.ROOT)) + '\n'
+                    + (brand == null ? "" : brand.toLowerCase(Locale.ROOT)) + '\n' + price;
+            byType.get(type.toUpperCase(Locale.ROOT)).merge(key,
+                    new BuildSearch.Candidate(id, partName, type, brand, pc, price),
+                    (kept, other) -> other.getId() < kept.getId() ? other : kept);
+        });
+
+        List<List<BuildSearch.Candidate>> candidates = new ArrayList<>(types.size());
+        for (Map<String, BuildSearch.Candidate> offers : byType.values()) {
+            candidates.add(new ArrayList<>(offers.values()));
+        }
+        return candidates;
+    }
+
+    private static BuildDto toBuild(List<BuildSearch.Candidate> parts) {
+        List<PartDto> dtos = new ArrayList<>(parts.size());
+        double total = 0;
+        for (BuildSearch.Candidate part : parts) {
+            dtos.add(new PartDto(part.getId(), part.getPartName(), part.getType(), part.getPcId(), part.getPrice()));
+            total += part.getPrice();
+        }
+        return new BuildDto(total, dtos);
+    }
+}
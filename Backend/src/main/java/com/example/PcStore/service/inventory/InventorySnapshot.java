@@ -0,0 +1,377 @@
+package com.example.PcStore.service.inventory;
+
+import com.example.PcStore.dto.inventory.PCDto;
+import com.example.PcStore.dto.inventory.PartDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-only copy of every PC and part, answering the list endpoints without touching
+ * the database. Prices, ids and type codes sit in primitive arrays that filters and
+ * sorts scan directly. The DTOs are built once per snapshot and shared by every
+ * response; the unfiltered lists go out as they are, unmodifiable, and nothing on
+ * the read path may change a DTO it was handed. Writes through PCService and PartService call
+ * refresh, which after commit queues a reload on a background thread and swaps the
+ * reference when it is done; a reload that fails keeps the previous snapshot.
+ */
+@Component
+public class InventorySnapshot {
+
+    private static final String PCS_SQL = "SELECT id, name, brand, price, parts_price, part_count FROM pc ORDER BY id";
+    private static final String PARTS_SQL = "SELECT id, part_name, type, price, pc_id FROM pc_part ORDER BY id";
+
+    // pc_id of a part that belongs to no PC
+    private static final long NO_PC = Long.MIN_VALUE;
+
+    private static final Logger log = LoggerFactory.getLogger(InventorySnapshot.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Snapshot current;
+
+    // One thread, so reloads never overlap; set while a reload is queued but not yet started
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "inventory-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastBuildMillis;
+
+    public InventorySnapshot(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Loads a fresh snapshot now on the calling thread, whatever transaction it is in
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Queues a reload, after commit when called inside a transaction so the new copy
+     * includes the write. The caller never waits for it, and refreshes that arrive
+     * before a queued reload starts share it.
+     */
+    public void refresh() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queueRebuild();
+                }
+            });
+        } else {
+            queueRebuild();
+        }
+    }
+
+    public List<PCDto> getPCs(String brand, Double minPrice, Double maxPrice, String sort) {
+        Snapshot snapshot = snapshot();
+        int[] order = snapshot.pcOrder(sort);
+        boolean descending = sort != null && sort.startsWith("-");
+        if (brand == null && minPrice == null && maxPrice == null && order == null && !descending) {
+            return snapshot.pcList;
+        }
+        double min = minPrice == null ? Double.NEGATIVE_INFINITY : minPrice;
+        double max = maxPrice == null ? Double.POSITIVE_INFINITY : maxPrice;
+        int n = snapshot.pcIds.length;
+        List<PCDto> result = new ArrayList<>();
+        for (int k = 0; k < n; k++) {
+            int i = row(order, descending, n, k);
+            double price = snapshot.pcPrices[i];
+            if (price < min || price > max) {
+                continue;
+            }
+            if (brand != null && !brand.equalsIgnoreCase(snapshot.pcs[i].getBrand())) {
+                continue;
+            }
+            result.add(snapshot.pcs[i]);
+        }
+        return result;
+    }
+
+    public PCDto getPC(Long id) {
+        Snapshot snapshot = snapshot();
+        int i = Arrays.binarySearch(snapshot.pcIds, id);
+        return i < 0 ? null : snapshot.pcs[i];
+    }
+
+    public List<PartDto> getParts(String type, Long pcId, Double minPrice, Double maxPrice, String sort) {
+        Snapshot snapshot = snapshot();
+        int[] order = snapshot.partOrder(sort);
+        boolean descending = sort != null && sort.startsWith("-");
+        if (type == null && pcId == null && minPrice == null && maxPrice == null && order == null && !descending) {
+            return snapshot.partList;
+        }
+        int typeCode = -1;
+        if (type != null) {
+            Integer code = snapshot.typeCodes.get(type.toUpperCase(Locale.ROOT));
+            if (code == null) {
+                return List.of();
+            }
+            typeCode = code;
+        }
+        double min = minPrice == null ? Double.NEGATIVE_INFINITY : minPrice;
+        double max = maxPrice == null ? Double.POSITIVE_INFINITY : maxPrice;
+        int n = snapshot.partIds.length;
+        List<PartDto> result = new ArrayList<>();
+        for (int k = 0; k < n; k++) {
+            int i = row(order, descending, n, k);
+            if (typeCode >= 0 && snapshot.partTypes[i] != typeCode) {
+                continue;
+            }
+            if (pcId != null && snapshot.partPcIds[i] != pcId) {
+                continue;
+            }
+            double price = snapshot.partPrices[i];
+            if (price < min || price > max) {
+                continue;
+            }
+            result.add(snapshot.parts[i]);
+        }
+        return result;
+    }
+
+    public PartDto getPart(Long id) {
+        Snapshot snapshot = snapshot();
+        int i = Arrays.binarySearch(snapshot.partIds, id);
+        return i < 0 ? null : snapshot.parts[i];
+    }
+
+    /**
+     * Generation of the snapshot being served, for the list ETags. Read it before the
+     * list: generations only grow, so the list returned is never older than its ETag.
+     */
+    public long generation() {
+        return snapshot().generation;
+    }
+
+    public Map<String, Long> getStats() {
+        Snapshot snapshot = current;
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("pcs", snapshot == null ? 0L : snapshot.pcIds.length);
+        stats.put("parts", snapshot == null ? 0L : snapshot.partIds.length);
+        stats.put("generation", snapshot == null ? 0L : snapshot.generation);
+        stats.put("builtAt", snapshot == null ? 0L : snapshot.builtAt);
+        stats.put("rebuilds", rebuilds.get());
+        stats.put("failures", failures.get());
+        stats.put("lastBuildMillis", lastBuildMillis);
+        return stats;
+    }
+
+    // Only the very first use waits for a load; after that readers get whatever is current
+    private Snapshot snapshot() {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (current == null) {
+                    rebuild();
+                }
+                snapshot = current;
+            }
+        }
+        if (snapshot == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Inventory is not available yet");
+        }
+        return snapshot;
+    }
+
+    private void queueRebuild() {
+        if (!queued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuilder.execute(() -> {
+                // Cleared before loading, so a write that commits during the load queues the next one
+                queued.set(false);
+                rebuild();
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down; nothing is left to serve the snapshot anyway
+            queued.set(false);
+        }
+    }
+
+    private synchronized void rebuild() {
+        long start = System.nanoTime();
+        try {
+            current = loadSnapshot(rebuilds.get() + 1);
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            log.error("Could not reload the inventory snapshot; keeping the previous one", e);
+            return;
+        }
+        lastBuildMillis = (System.nanoTime() - start) / 1_000_000;
+        rebuilds.incrementAndGet();
+    }
+
+    private Snapshot loadSnapshot(long generation) {
+        List<PCDto> pcs = new ArrayList<>();
+        jdbcTemplate.query(PCS_SQL, rs -> {
+            pcs.add(new PCDto(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getDouble(4),
+                    rs.getDouble(5), rs.getInt(6)));
+        });
+        List<PartDto> parts = new ArrayList<>();
+        jdbcTemplate.query(PARTS_SQL, rs -> {
+            long pcId = rs.getLong(5);
+            Long pc = rs.wasNull() ? null : pcId;
+            parts.add(new PartDto(rs.getLong(1), rs.getString(2), rs.getString(3), pc, rs.getDouble(4)));
+        });
+        return new Snapshot(generation, pcs.toArray(new PCDto[0]), parts.toArray(new PartDto[0]));
+    }
+
+    // Row shown at position k: through the sort order if there is one, backwards when descending
+    private static int row(int[] order, boolean descending, int n, int k) {
+        int position = descending ? n - 1 - k : k;
+        return order == null ? position : order[position];
+    }
+
+    private static int[] sortedOrder(int size, Comparator<Integer> comparator) {
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, comparator);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = boxed[i];
+        }
+        return order;
+    }
+
+    private static String nameKey(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Snapshot {
+        private final long generation;
+        private final long builtAt = System.currentTimeMillis();
+
+        // Rows are in id order, so ids can be binary searched
+        private final PCDto[] pcs;
+        private final List<PCDto> pcList;
+        private final long[] pcIds;
+        private final double[] pcPrices;
+        private final int[] pcsByPrice;
+        private final int[] pcsByPartsPrice;
+        private final int[] pcsByName;
+
+        private final PartDto[] parts;
+        private final List<PartDto> partList;
+        private final long[] partIds;
+        private final long[] partPcIds;
+        private final double[] partPrices;
+        private final int[] partTypes;
+        private final Map<String, Integer> typeCodes = new HashMap<>();
+        private final int[] partsByPrice;
+        private final int[] partsByName;
+        private final int[] partsByType;
+
+        private Snapshot(long generation, PCDto[] pcs, PartDto[] parts) {
+            this.generation = generation;
+            this.pcs = pcs;
+            this.pcList = List.of(pcs);
+            pcIds = new long[pcs.length];
+            pcPrices = new double[pcs.length];
+            double[] pcPartsPrices = new double[pcs.length];
+            String[] pcNames = new String[pcs.length];
+            for (int i = 0; i < pcs.length; i++) {
+                pcIds[i] = pcs[i].getId();
+                pcPrices[i] = pcs[i].getPrice();
+                pcPartsPrices[i] = pcs[i].getPartsPrice();
+                pcNames[i] = nameKey(pcs[i].getName());
+            }
+            pcsByPrice = sortedOrder(pcs.length, Comparator.comparingDouble(i -> pcPrices[i]));
+            pcsByPartsPrice = sortedOrder(pcs.length, Comparator.comparingDouble(i -> pcPartsPrices[i]));
+            pcsByName = sortedOrder(pcs.length, Comparator.comparing(i -> pcNames[i]));
+
+            this.parts = parts;
+            this.partList = List.of(parts);
+            partIds = new long[parts.length];
+            partPcIds = new long[parts.length];
+            partPrices = new double[parts.length];
+            partTypes = new int[parts.length];
+            String[] partNames = new String[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                PartDto part = parts[i];
+                partIds[i] = part.getId();
+                partPcIds[i] = part.getPcId() == null ? NO_PC : part.getPcId();
+                partPrices[i] = part.getPrice();
+                String type = part.getType() == null ? "" : part.getType().toUpperCase(Locale.ROOT);
+                partTypes[i] = typeCodes.computeIfAbsent(type, t -> typeCodes.size());
+                partNames[i] = nameKey(part.getPartName());
+            }
+            partsByPrice = sortedOrder(parts.length, Comparator.comparingDouble(i -> partPrices[i]));
+            partsByName = sortedOrder(parts.length, Comparator.comparing(i -> partNames[i]));
+            String[] typeNames = new String[typeCodes.size()];
+            typeCodes.forEach((type, code) -> typeNames[code] = type);
+            partsByType = sortedOrder(parts.length, Comparator.<Integer, String>comparing(i -> typeNames[partTypes[i]])
+                    .thenComparingDouble(i -> partPrices[i]));
+        }
+
+        // Null means id order
+        private int[] pcOrder(String sort) {
+            switch (sortKey(sort)) {
+                case "": case "id": return null;
+                case "price": return pcsByPrice;
+                case "partsprice": return pcsByPartsPrice;
+                case "name": return pcsByName;
+                default: throw badSort(sort, "id, price, partsPrice, name");
+            }
+        }
+
+        private int[] partOrder(String sort) {
+            switch (sortKey(sort)) {
+                case "": case "id": return null;
+                case "price": return partsByPrice;
+                case "name": return partsByName;
+                case "type": return partsByType;
+                default: throw badSort(sort, "id, price, name, type");
+            }
+        }
+
+        private static String sortKey(String sort) {
+            if (sort == null) {
+                return "";
+            }
+            return (sort.startsWith("-") ? sort.substring(1) : sort).toLowerCase(Locale.ROOT);
+        }
+
+        private static ResponseStatusException badSort(String sort, String allowed) {
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown sort '" + sort + "'; use one of " + allowed + ", with '-' for descending");
+        }
+    }
+}
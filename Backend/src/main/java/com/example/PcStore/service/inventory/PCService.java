@@ -1,49 +1,110 @@
 package com.example.PcStore.service.inventory;
 
 import com.example.PcStore.dto.inventory.PCDto;
+import com.example.PcStore.mapper.inventory.PCMapper;
 import com.example.PcStore.model.inventory.PC;
 import com.example.PcStore.repository.inventory.PCRepository;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import com.example.PcStore.service.CatalogVersions;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class PCService {
     @Autowired
     private PCRepository pcRepository;
     @Autowired
-    private ModelMapper modelMapper;
+    private PCMapper pcMapper;
+    @Autowired
+    private CatalogVersions catalogVersions;
+    @Autowired
+    private InventorySnapshot inventorySnapshot;
+
+    @Value("${pcstore.pcs.reconcile-part-totals.enabled:true}")
+    private boolean reconcileEnabled;
 
-    public PCService(PCRepository pcRepository, ModelMapper modelMapper) {
+    public PCService(PCRepository pcRepository, PCMapper pcMapper, CatalogVersions catalogVersions,
+                     InventorySnapshot inventorySnapshot) {
         this.pcRepository = pcRepository;
-        this.modelMapper = modelMapper;
+        this.pcMapper = pcMapper;
+        this.catalogVersions = catalogVersions;
+        this.inventorySnapshot = inventorySnapshot;
     }
 
     public PCDto addPC(@RequestBody PCDto pcDto) {
-        pcRepository.save(modelMapper.map(pcDto, PC.class));
-        return modelMapper.map(pcDto, PCDto.class);
+        PC saved = pcRepository.save(pcMapper.toEntity(pcDto));
+        inventorySnapshot.refresh();
+        return pcMapper.toDto(saved);
     }
 
-    public List<PCDto> getAllPCs() {
-        List<PC> pcs = pcRepository.findAll();
-        return  modelMapper.map(pcs, new TypeToken<List<PCDto>>() {}.getType());
+    public Map<String, Long> getSnapshotStats() {
+        return inventorySnapshot.getStats();
+    }
+
+    public String getCatalogEtag() {
+        return catalogVersions.snapshotEtag(CatalogVersions.PCS, inventorySnapshot.generation());
+    }
+
+    // Served from the in-memory snapshot; every filter is optional
+    public List<PCDto> getAllPCs(String brand, Double minPrice, Double maxPrice, String sort) {
+        return inventorySnapshot.getPCs(brand, minPrice, maxPrice, sort);
     }
 
     public PCDto getPCById(@PathVariable Long pcid) {
+        PCDto cached = inventorySnapshot.getPC(pcid);
+        if (cached != null) {
+            return cached;
+        }
+        // Not in the snapshot yet, e.g. committed a moment ago
         PC pc = pcRepository.findById(pcid).get();
-        return modelMapper.map(pc, PCDto.class);
+        return pcMapper.toDto(pc);
     }
 
     public PCDto updatePC(@RequestBody PCDto pcDto) {
-        pcRepository.save(modelMapper.map(pcDto, PC.class));
-        return modelMapper.map(pcDto, PCDto.class);
+        // Update the managed row so its version advances instead of overwriting it with a detached copy
+        PC pc = pcRepository.findById(pcDto.getId())
+                .orElseThrow(() -> new RuntimeException("PC not found with ID: " + pcDto.getId()));
+        pc.setName(pcDto.getName());
+        pc.setBrand(pcDto.getBrand());
+        pc.setPrice(pcDto.getPrice());
+        PC saved = pcRepository.save(pc);
+        inventorySnapshot.refresh();
+        return pcMapper.toDto(saved);
+    }
+
+    /**
+     * Recomputes parts_price and part_count from pc_part in one statement. PartService
+     * keeps them current on every write; this catches direct SQL edits and fills the
+     * columns the first time they appear.
+     */
+    @Transactional
+    public int reconcilePartTotals() {
+        int corrected = pcRepository.reconcilePartTotals();
+        if (corrected > 0) {
+            inventorySnapshot.refresh();
+        }
+        return corrected;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${pcstore.pcs.reconcile-part-totals.cron:0 45 3 * * *}")
+    @Transactional
+    public void reconcilePartTotalsScheduled() {
+        if (reconcileEnabled) {
+            reconcilePartTotals();
+        }
     }
 
+    // Only looks the PC up and deletes nothing, so there is nothing to refresh
     public String deletepc(@PathVariable Long pcid) {
         pcRepository.detailpcbyid(pcid);
         return "PC has been deleted";
@@ -0,0 +1,243 @@
+package com.example.PcStore.service.inventory;
+
+import com.example.PcStore.dto.inventory.PartBulkResultDto;
+import com.example.PcStore.dto.inventory.PartDto;
+import com.example.PcStore.model.inventory.PC;
+import com.example.PcStore.repository.inventory.PCRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk create and update of parts. Every referenced PC is checked with one
+ * findAllById, existing parts are read and locked with one IN query, and the writes go out as
+ * JDBC batches, so seeding a PC with many parts costs a handful of round trips
+ * instead of three per part. Invalid items are reported and skipped; the rest are
+ * written in one transaction together with the PC part totals.
+ */
+@Service
+public class PartBulkService {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String REJECTED = "REJECTED";
+
+    // Locked until commit so the old pc_id and price behind the total adjustments cannot change
+    // underneath; id order, as elsewhere, so concurrent bulk calls queue instead of deadlocking.
+    // updatePart and deletepart go through the row version, which the bulk UPDATE bumps.
+    private static final String EXISTING_SQL =
+            "SELECT id, pc_id, price FROM pc_part WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO pc_part (part_name, type, price, pc_id, version) VALUES (:partName, :type, :price, :pcId, 0)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE pc_part SET part_name = :partName, type = :type, price = :price, pc_id = :pcId, " +
+            "version = version + 1 WHERE id = :id";
+
+    private static final String ADJUST_TOTALS_SQL =
+            "UPDATE pc SET parts_price = parts_price + :price, part_count = part_count + :count WHERE id = :pcId";
+
+    private final PCRepository pcRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final InventorySnapshot inventorySnapshot;
+
+    @Value("${pcstore.parts.bulk.max-items:1000}")
+    private int maxItems;
+
+    @Value("${pcstore.parts.bulk.batch-size:500}")
+    private int batchSize;
+
+    public PartBulkService(PCRepository pcRepository, NamedParameterJdbcTemplate jdbcTemplate,
+                           InventorySnapshot inventorySnapshot) {
+        this.pcRepository = pcRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.inventorySnapshot = inventorySnapshot;
+    }
+
+    @Transactional
+    public PartBulkResultDto upsertParts(List<PartDto> parts) {
+        if (parts == null || parts.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one part is required");
+        }
+        if (parts.size() > maxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxItems + " parts are allowed");
+        }
+
+        Set<Long> pcIds = new HashSet<>();
+        Set<Long> partIds = new HashSet<>();
+        for (PartDto part : parts) {
+            if (part != null && part.getPcId() != null) {
+                pcIds.add(part.getPcId());
+            }
+            if (part != null && part.getId() != null) {
+                partIds.add(part.getId());
+            }
+        }
+        Set<Long> knownPcs = new HashSet<>();
+        for (PC pc : pcRepository.findAllById(pcIds)) {
+            knownPcs.add(pc.getId());
+        }
+        Map<Long, Existing> existing = loadExisting(partIds);
+
+        PartBulkResultDto result = new PartBulkResultDto();
+        result.setTotal(parts.size());
+        PartBulkResultDto.Item[] items = new PartBulkResultDto.Item[parts.size()];
+        List<Integer> inserts = new ArrayList<>();
+        List<Integer> updates = new ArrayList<>();
+        Set<Long> seenIds = new HashSet<>();
+        Map<Long, Totals> totals = new HashMap<>();
+
+        for (int i = 0; i < parts.size(); i++) {
+            PartDto part = parts.get(i);
+            String error = findValidationError(part, knownPcs);
+            if (error == null && part.getId() != null) {
+                if (!existing.containsKey(part.getId())) {
+                    error = "Part not found with ID: " + part.getId();
+                } else if (!seenIds.add(part.getId())) {
+                    error = "Part " + part.getId() + " appears more than once";
+                }
+            }
+            if (error != null) {
+                items[i] = new PartBulkResultDto.Item(i, part == null ? null : part.getId(), REJECTED, error);
+                result.setRejected(result.getRejected() + 1);
+                continue;
+            }
+            if (part.getId() == null) {
+                inserts.add(i);
+            } else {
+                updates.add(i);
+                Existing old = existing.get(part.getId());
+                if (old.pcId != null) {
+                    totals.computeIfAbsent(old.pcId, id -> new Totals()).add(-old.price, -1);
+                }
+            }
+            totals.computeIfAbsent(part.getPcId(), id -> new Totals()).add(part.getPrice(), 1);
+        }
+
+        for (int from = 0; from < inserts.size(); from += batchSize) {
+            List<Integer> batch = inserts.subList(from, Math.min(inserts.size(), from + batchSize));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(INSERT_SQL, params(parts, batch), keys, new String[]{"id"});
+            List<Map<String, Object>> keyList = keys.getKeyList();
+            for (int k = 0; k < batch.size(); k++) {
+                Long id = ((Number) keyList.get(k).values().iterator().next()).longValue();
+                items[batch.get(k)] = new PartBulkResultDto.Item(batch.get(k), id, CREATED, null);
+            }
+        }
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            List<Integer> batch = updates.subList(from, Math.min(updates.size(), from + batchSize));
+            jdbcTemplate.batchUpdate(UPDATE_SQL, params(parts, batch));
+            for (int index : batch) {
+                items[index] = new PartBulkResultDto.Item(index, parts.get(index).getId(), UPDATED, null);
+            }
+        }
+        result.setCreated(inserts.size());
+        result.setUpdated(updates.size());
+        result.getResults().addAll(List.of(items));
+
+        adjustTotals(totals);
+        if (!inserts.isEmpty() || !updates.isEmpty()) {
+            inventorySnapshot.refresh();
+        }
+        return result;
+    }
+
+    private static String findValidationError(PartDto part, Set<Long> knownPcs) {
+        if (part == null) {
+            return "Part is required";
+        }
+        if (part.getPartName() == null || part.getPartName().isBlank()) {
+            return "Part name is required";
+        }
+        if (part.getType() == null || part.getType().isBlank()) {
+            return "Type is required";
+        }
+        if (part.getPrice() == null || part.getPrice() < 0) {
+            return "Price must be zero or more";
+        }
+        if (part.getPcId() == null) {
+            return "PC id is required";
+        }
+        if (!knownPcs.contains(part.getPcId())) {
+            return "PC not found with ID: " + part.getPcId();
+        }
+        return null;
+    }
+
+    private Map<Long, Existing> loadExisting(Set<Long> partIds) {
+        Map<Long, Existing> existing = new HashMap<>();
+        if (partIds.isEmpty()) {
+            return existing;
+        }
+        jdbcTemplate.query(EXISTING_SQL, new MapSqlParameterSource("ids", partIds), rs -> {
+            long pcId = rs.getLong(2);
+            Long pc = rs.wasNull() ? null : pcId;
+            existing.put(rs.getLong(1), new Existing(pc, rs.getDouble(3)));
+        });
+        return existing;
+    }
+
+    private void adjustTotals(Map<Long, Totals> totals) {
+        List<SqlParameterSource> adjustments = new ArrayList<>();
+        for (Map.Entry<Long, Totals> entry : totals.entrySet()) {
+            Totals change = entry.getValue();
+            if (change.count != 0 || change.price != 0) {
+                adjustments.add(new MapSqlParameterSource("pcId", entry.getKey())
+                        .addValue("price", change.price)
+                        .addValue("count", change.count));
+            }
+        }
+        if (!adjustments.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADJUST_TOTALS_SQL, adjustments.toArray(new SqlParameterSource[0]));
+        }
+    }
+
+    private static SqlParameterSource[] params(List<PartDto> parts, List<Integer> indexes) {
+        SqlParameterSource[] params = new SqlParameterSource[indexes.size()];
+        for (int k = 0; k < indexes.size(); k++) {
+            PartDto part = parts.get(indexes.get(k));
+            params[k] = new MapSqlParameterSource("id", part.getId())
+                    .addValue("partName", part.getPartName())
+                    .addValue("type", part.getType())
+                    .addValue("price", part.getPrice())
+                    .addValue("pcId", part.getPcId());
+        }
+        return params;
+    }
+
+    private static final class Existing {
+        private final Long pcId;
+        private final double price;
+
+        private Existing(Long pcId, double price) {
+            this.pcId = pcId;
+            this.price = price;
+        }
+    }
+
+    // Net change to one PC's part totals
+    private static final class Totals {
+        private double price;
+        private int count;
+
+        private void add(double price, int count) {
+            this.price += price;
+            this.count += count;
+        }
+    }
+}
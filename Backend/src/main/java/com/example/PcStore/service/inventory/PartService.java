@@ -1,20 +1,29 @@
 package com.example.PcStore.service.inventory;
 
 
+import com.example.PcStore.dto.inventory.PCPartsDto;
 import com.example.PcStore.dto.inventory.PartDto;
+import com.example.PcStore.mapper.inventory.PartMapper;
 import com.example.PcStore.model.inventory.PC;
 import com.example.PcStore.model.inventory.pcPart;
 import com.example.PcStore.repository.inventory.PCRepository;
 import com.example.PcStore.repository.inventory.PartRepository;
+import com.example.PcStore.service.CatalogVersions;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class PartService {
@@ -23,12 +32,22 @@ public class PartService {
     private PartRepository pcPartRepository;
     private PCRepository pcRepository;
     @Autowired
-    private ModelMapper modelMapper;
+    private PartMapper partMapper;
+    @Autowired
+    private CatalogVersions catalogVersions;
+    @Autowired
+    private InventorySnapshot inventorySnapshot;
 
-    public PartService(PCRepository pcRepository,PartRepository partRepository, ModelMapper modelMapper) {
+    @Value("${pcstore.parts.max-batch-pcs:100}")
+    private int maxBatchPcs;
+
+    public PartService(PCRepository pcRepository,PartRepository partRepository, PartMapper partMapper,
+                       CatalogVersions catalogVersions, InventorySnapshot inventorySnapshot) {
         this.pcPartRepository = partRepository;
         this.pcRepository = pcRepository;
-        this.modelMapper = modelMapper;
+        this.partMapper = partMapper;
+        this.catalogVersions = catalogVersions;
+        this.inventorySnapshot = inventorySnapshot;
     }
 
     @Transactional
@@ -37,69 +56,111 @@ public class PartService {
         PC pc = pcRepository.findById(partDto.getPcId())
                 .orElseThrow(() -> new RuntimeException("PC not found with ID: " + partDto.getPcId()));
 
-        // Map DTO to Entity manually
+        // Map DTO to Entity
         pcPart part = new pcPart();
-        part.setPartName(partDto.getPartName());
-        part.setType(partDto.getType());
-        part.setPc(pc); // set PC reference
-        part.setPrice(partDto.getPrice());
+        partMapper.copyToEntity(partDto, pc, part);
 
         // Save part
         pcPart savedPart = pcPartRepository.save(part);
+        pcRepository.adjustPartTotals(pc.getId(), savedPart.getPrice(), 1);
+        inventorySnapshot.refresh();
 
         // Map back to DTO to return
-        PartDto response = new PartDto();
-        response.setId(savedPart.getId());
-        response.setPartName(savedPart.getPartName());
-        response.setType(savedPart.getType());
-        response.setPcId(savedPart.getPc().getId());
-        response.setPrice(savedPart.getPrice());
-
-        return response;
+        return partMapper.toDto(savedPart);
     }
 
 
-    public List<PartDto> getAllParts() {
-        List<pcPart> pcspart = pcPartRepository.findAll();
-        return  modelMapper.map(pcspart, new TypeToken<List<PartDto>>() {}.getType());
+    // Served from the in-memory snapshot; every filter is optional
+    public List<PartDto> getAllParts(String type, Long pcId, Double minPrice, Double maxPrice, String sort) {
+        return inventorySnapshot.getParts(type, pcId, minPrice, maxPrice, sort);
+    }
+
+    public PCPartsDto getPartsByPc(Long pcId) {
+        List<pcPart> parts = pcPartRepository.findByPcIdOrderByType(pcId);
+        // Only an empty result needs the extra lookup to tell a bare PC from a missing one
+        if (parts.isEmpty() && !pcRepository.existsById(pcId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "PC not found with ID: " + pcId);
+        }
+        return partMapper.toPCParts(pcId, parts);
+    }
+
+    // Parts of many PCs in one query; ids without parts, or without a PC, come back empty
+    public List<PCPartsDto> getPartsByPcs(List<Long> pcIds) {
+        if (pcIds == null || pcIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one PC id is required");
+        }
+        Set<Long> ids = new LinkedHashSet<>(pcIds);
+        if (ids.size() > maxBatchPcs) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxBatchPcs + " PC ids are allowed");
+        }
+        Map<Long, List<pcPart>> byPc = new HashMap<>();
+        for (pcPart part : pcPartRepository.findByPcIdInOrderByType(ids)) {
+            byPc.computeIfAbsent(part.getPc().getId(), id -> new ArrayList<>()).add(part);
+        }
+        List<PCPartsDto> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            result.add(partMapper.toPCParts(id, byPc.getOrDefault(id, List.of())));
+        }
+        return result;
+    }
+
+    public String getCatalogEtag() {
+        return catalogVersions.snapshotEtag(CatalogVersions.PARTS, inventorySnapshot.generation());
     }
 
     public PartDto getPCpartysById(@PathVariable Long partid) {
+        PartDto cached = inventorySnapshot.getPart(partid);
+        if (cached != null) {
+            return cached;
+        }
         pcPart part = pcPartRepository.findById(partid).get();
-        return modelMapper.map(part, PartDto.class);
+        return partMapper.toDto(part);
     }
 
+    @Transactional
     public PartDto updatePart(PartDto partDto) {
         // Ensure part exists
         pcPart existingPart = pcPartRepository.findById(partDto.getId())
                 .orElseThrow(() -> new RuntimeException("Part not found with ID: " + partDto.getId()));
+        Long oldPcId = existingPart.getPc() != null ? existingPart.getPc().getId() : null;
+        double oldPrice = existingPart.getPrice();
 
         // Ensure PC exists if changing
         PC pc = pcRepository.findById(partDto.getPcId())
                 .orElseThrow(() -> new RuntimeException("PC not found with ID: " + partDto.getPcId()));
 
         // Update fields including price
-        existingPart.setPartName(partDto.getPartName());
-        existingPart.setType(partDto.getType());
-        existingPart.setPc(pc);
-        existingPart.setPrice(partDto.getPrice());  // <-- Set price
+        partMapper.copyToEntity(partDto, pc, existingPart);
 
         // Save and return updated part
         pcPart updated = pcPartRepository.save(existingPart);
-
-        PartDto response = new PartDto();
-        response.setId(updated.getId());
-        response.setPartName(updated.getPartName());
-        response.setType(updated.getType());
-        response.setPcId(updated.getPc().getId());
-        response.setPrice(updated.getPrice());      // <-- Return price
-
-        return response;
+        if (pc.getId().equals(oldPcId)) {
+            if (updated.getPrice() != oldPrice) {
+                pcRepository.adjustPartTotals(pc.getId(), updated.getPrice() - oldPrice, 0);
+            }
+        } else {
+            // Moved to another PC
+            if (oldPcId != null) {
+                pcRepository.adjustPartTotals(oldPcId, -oldPrice, -1);
+            }
+            pcRepository.adjustPartTotals(pc.getId(), updated.getPrice(), 1);
+        }
+        inventorySnapshot.refresh();
+
+        return partMapper.toDto(updated);
     }
 
 
+    @Transactional
     public String deletepart(@PathVariable Long partid) {
-        pcPartRepository.detailpcpartbyid(partid);
+        pcPart part = pcPartRepository.findById(partid)
+                .orElseThrow(() -> new RuntimeException("Part not found with ID: " + partid));
+        Long pcId = part.getPc() != null ? part.getPc().getId() : null;
+        pcPartRepository.delete(part);
+        if (pcId != null) {
+            pcRepository.adjustPartTotals(pcId, -part.getPrice(), -1);
+        }
+        inventorySnapshot.refresh();
         return "PC has been deleted";
     }
 }
\ No newline at end of file
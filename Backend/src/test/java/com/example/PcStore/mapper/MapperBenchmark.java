@@ -0,0 +1,134 @@
+package com.example.PcStore.mapper;
+
+import com.example.PcStore.dto.OrderDto;
+import com.example.PcStore.dto.inventory.PCDto;
+import com.example.PcStore.dto.inventory.PartDto;
+import com.example.PcStore.mapper.inventory.PCMapper;
+import com.example.PcStore.mapper.inventory.PartMapper;
+import com.example.PcStore.model.Order;
+import com.example.PcStore.model.OrderItem;
+import com.example.PcStore.model.Product;
+import com.example.PcStore.model.enums.OrderStatus;
+import com.example.PcStore.model.inventory.PC;
+import com.example.PcStore.model.inventory.pcPart;
+import org.modelmapper.ModelMapper;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compares ModelMapper with the hand-written mappers: OrderMapper on an order with
+ * a few items, PCMapper on a PC and PartMapper on a part fitted to one. Reports
+ * throughput and bytes allocated per mapping. JMH is not part of the build,
+ * so this is a plain main() with warm-up rounds; run it from the IDE or with
+ * mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.PcStore.mapper.MapperBenchmark
+ */
+public class MapperBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int ITERATIONS = 200_000;
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        ModelMapper modelMapper = new ModelMapper();
+
+        Order order = sampleOrder(5);
+        run("Order, ModelMapper", order, source -> modelMapper.map(source, OrderDto.class));
+        run("Order, OrderMapper", order, new OrderMapper()::toDto);
+
+        PC pc = samplePC();
+        run("PC, ModelMapper", pc, source -> modelMapper.map(source, PCDto.class));
+        run("PC, PCMapper", pc, new PCMapper()::toDto);
+
+        pcPart part = samplePart(pc);
+        run("Part, ModelMapper", part, source -> modelMapper.map(source, PartDto.class));
+        run("Part, PartMapper", part, new PartMapper()::toDto);
+    }
+
+    private static <S> void run(String name, S source, Function<S, ?> mapper) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            measure(source, mapper);
+        }
+        long totalNanos = 0;
+        long totalBytes = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long[] result = measure(source, mapper);
+            totalNanos += result[0];
+            totalBytes += result[1];
+        }
+        long mappings = (long) ITERATIONS * MEASURED_ROUNDS;
+        System.out.printf("%-20s %,12.0f ops/s %,10.1f ns/op %,10.0f B/op%n", name,
+                mappings * 1_000_000_000.0 / totalNanos,
+                (double) totalNanos / mappings,
+                (double) totalBytes / mappings);
+    }
+
+    private static <S> long[] measure(S source, Function<S, ?> mapper) {
+        long startBytes = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = mapper.apply(source);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new long[]{elapsed, allocatedBytes() - startBytes};
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static Order sampleOrder(int itemCount) {
+        Order order = new Order();
+        order.setId(1L);
+        order.setCustomerName("Benchmark Customer");
+        order.setCustomerEmail("bench@example.com");
+        order.setCustomerPhone("0700000000");
+        order.setOrderDate(new Date());
+        order.setStatus(OrderStatus.PENDING);
+        order.setNotes("Leave at the front desk");
+        List<OrderItem> items = new ArrayList<>();
+        for (long i = 1; i <= itemCount; i++) {
+            Product product = new Product();
+            product.setId(i);
+            product.setName("Product " + i);
+            product.setPrice(BigDecimal.valueOf(100 + i));
+            OrderItem item = new OrderItem();
+            item.setId(i);
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity((int) i);
+            items.add(item);
+        }
+        order.setItems(items);
+        return order;
+    }
+
+    private static PC samplePC() {
+        PC pc = new PC();
+        pc.setId(1L);
+        pc.setName("Benchmark PC");
+        pc.setBrand("Brand");
+        pc.setPrice(1500.0);
+        pc.setPartsPrice(1200.0);
+        pc.setPartCount(6);
+        return pc;
+    }
+
+    private static pcPart samplePart(PC pc) {
+        pcPart part = new pcPart();
+        part.setId(1L);
+        part.setPartName("Benchmark GPU");
+        part.setType("GPU");
+        part.setPrice(600.0);
+        part.setPc(pc);
+        return part;
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.PcStore.service;
+
+import com.example.PcStore.dto.OrderDto;
+import com.example.PcStore.dto.OrderItemDto;
+import com.example.PcStore.dto.OrderPageDto;
+import com.example.PcStore.dto.OrderSearchCriteria;
+import com.example.PcStore.dto.OrderStatusTransitionDto;
+import com.example.PcStore.dto.OrderStatusTransitionResultDto;
+import com.example.PcStore.dto.SalesAnalyticsDto;
+import com.example.PcStore.dto.StockReservationDto;
+import com.example.PcStore.dto.StockReservationRequestDto;
+import com.example.PcStore.exception.OrderLinesRejectedException;
+import com.example.PcStore.mapper.OrderMapper;
+import com.example.PcStore.model.Order;
+import com.example.PcStore.model.OrderItem;
+import com.example.PcStore.model.Product;
+import com.example.PcStore.model.enums.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Guards the fetch plans: order reads must not fan out into per-order or per-item selects
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderService.class, OrderIdempotencyService.class, SalesRollupService.class, StockReservationService.class,
+        OrderArchiveService.class, OrderMapper.class, ProductCache.class, CatalogVersions.class})
+class OrderServiceQueryCountTests {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long firstOrderId;
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Product product = new Product();
+            product.setName("Part " + i);
+            product.setPrice(new BigDecimal("100.00"));
+            product.setStock(10);
+            product.setCategory("GPU");
+            entityManager.persist(product);
+            products.add(product);
+            productIds.add(product.getId());
+        }
+        for (int o = 0; o < 4; o++) {
+            Order order = new Order();
+            order.setCustomerName("Customer " + o);
+            order.setCustomerEmail("customer" + o + "@example.com");
+            order.setOrderDate(new Date());
+            order.setStatus(OrderStatus.PENDING);
+            List<OrderItem> items = new ArrayList<>();
+            for (Product product : products) {
+                OrderItem item = new OrderItem();
+                item.setOrder(order);
+                item.setProduct(product);
+                item.setQuantity(1);
+                items.add(item);
+            }
+            order.setItems(items);
+            entityManager.persist(order);
+            if (firstOrderId == null) {
+                firstOrderId = order.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+    }
+
+    @Test
+    void getAllOrdersUsesOneStatement() {
+        List<OrderDto> orders = orderService.getAllOrders();
+
+        assertEquals(4, orders.size());
+        assertEquals(3, orders.get(0).getItems().size());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void legacyStatusValuesDoNotBreakOrderReads() {
+        entityManager.createNativeQuery("UPDATE orders SET status = 'failed' WHERE id = :id")
+                .setParameter("id", firstOrderId).executeUpdate();
+        entityManager.createNativeQuery("UPDATE orders SET status = 'on hold' WHERE id <> :id")
+                .setParameter("id", firstOrderId).executeUpdate();
+        entityManager.clear();
+
+        List<OrderDto> orders = orderService.getAllOrders();
+
+        assertEquals(4, orders.size());
+        assertEquals("Cancelled", orderService.getOrderById(firstOrderId).getStatus());
+        assertEquals(3, orders.stream().filter(order -> order.getStatus() == null).count());
+    }
+
+    @Test
+    void getOrderByIdUsesOneStatement() {
+        OrderDto order = orderService.getOrderById(firstOrderId);
+
+        assertEquals(3, order.getItems().size());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void getOrderPageUsesTwoStatementsPerPage() {
+        OrderSearchCriteria criteria = new OrderSearchCriteria(OrderStatus.PENDING, null, null, null);
+
+        OrderPageDto first = orderService.getOrderPage(criteria, null, 3);
+        assertEquals(3, first.getItems().size());
+        assertEquals(3, first.getItems().get(0).getItems().size());
+        assertEquals(2, statistics().getPrepareStatementCount());
+
+        OrderPageDto second = orderService.getOrderPage(criteria, first.getNextCursor(), 3);
+        assertEquals(1, second.getItems().size());
+        assertNull(second.getNextCursor());
+        assertEquals(firstOrderId, second.getItems().get(0).getId());
+    }
+
+    @Test
+    void createOrderLoadsAllProductsWithOneQuery() {
+        OrderDto created = orderService.createOrder(newOrder(
+                new OrderItemDto(productIds.get(2), 2),
+                new OrderItemDto(productIds.get(0), 1),
+                new OrderItemDto(productIds.get(2), 3)));
+        entityManager.flush();
+
+        assertEquals(3, created.getItems().size());
+        assertEquals(0, new BigDecimal("300.00").compareTo(created.getItems().get(2).getLineTotal()));
+        assertEquals(0, new BigDecimal("600.00").compareTo(created.getTotal()));
+        assertEquals(1, statistics().getQueryExecutionCount());
+        assertEquals(2, statistics().getEntityLoadCount());
+        assertEquals(5, entityManager.find(Product.class, productIds.get(2)).getStock());
+    }
+
+    @Test
+    void createOrderReportsEveryFailingLine() {
+        OrderLinesRejectedException e = assertThrows(OrderLinesRejectedException.class,
+                () -> orderService.createOrder(newOrder(
+                        new OrderItemDto(productIds.get(0), 11),
+                        new OrderItemDto(productIds.get(1), 1),
+                        new OrderItemDto(-1L, 1))));
+
+        assertEquals(2, e.getLineErrors().size());
+        assertEquals(1, e.getLineErrors().get(0).getLine());
+        assertEquals(3, e.getLineErrors().get(1).getLine());
+        assertEquals(10, entityManager.find(Product.class, productIds.get(1)).getStock());
+    }
+
+    @Test
+    void statusTransitionIsOneSetBasedUpdate() {
+        OrderStatusTransitionResultDto result = orderService.transitionStatus(
+                new OrderStatusTransitionDto("PENDING", "Processing", null));
+
+        assertEquals(4, result.getUpdated());
+        assertEquals(1, statistics().getPrepareStatementCount());
+        assertEquals(OrderStatus.PROCESSING, entityManager.find(Order.class, firstOrderId).getStatus());
+        assertThrows(ResponseStatusException.class, () -> orderService.transitionStatus(
+                new OrderStatusTransitionDto("PROCESSING", "COMPLETED", List.of(firstOrderId))));
+    }
+
+    @Test
+    void salesRollupsFollowCreateAndDelete() {
+        OrderDto created = orderService.createOrder(newOrder(
+                new OrderItemDto(productIds.get(0), 2),
+                new OrderItemDto(productIds.get(1), 1),
+                new OrderItemDto(productIds.get(0), 1)));
+        LocalDate today = LocalDate.now();
+
+        SalesAnalyticsDto sales = salesRollupService.getSales(today, today);
+        assertEquals(4, sales.getTotalUnits());
+        assertEquals(0, new BigDecimal("400.00").compareTo(sales.getTotalRevenue()));
+        assertEquals(2, sales.getTopProducts().size());
+        assertEquals(3, sales.getTopProducts().get(0).getUnits());
+
+        orderService.deleteOrder(created.getId());
+        assertEquals(0, salesRollupService.getSales(today, today).getTotalUnits());
+    }
+
+    @Test
+    void reservedStockIsOnlyAvailableToItsHolder() {
+        StockReservationDto hold = stockReservationService.reserve(
+                new StockReservationRequestDto(productIds.get(0), 8), "alice");
+        assertEquals(2, stockReservationService.getAvailability(productIds.get(0)).getAvailable());
+
+        assertThrows(OrderLinesRejectedException.class,
+                () -> orderService.createOrder(newOrder(new OrderItemDto(productIds.get(0), 3))));
+
+        // Another user naming the hold neither gets its stock nor can release it
+        OrderDto theirs = newOrder(new OrderItemDto(productIds.get(0), 3));
+        theirs.setReservationIds(List.of(hold.getId()));
+        theirs.setReservationOwner("bob");
+        assertThrows(OrderLinesRejectedException.class, () -> orderService.createOrder(theirs));
+        assertThrows(ResponseStatusException.class, () -> stockReservationService.release(hold.getId(), "bob"));
+
+        OrderDto mine = newOrder(new OrderItemDto(productIds.get(0), 9));
+        mine.setReservationIds(List.of(hold.getId()));
+        mine.setReservationOwner("alice");
+        orderService.createOrder(mine);
+        assertEquals(1, entityManager.find(Product.class, productIds.get(0)).getStock());
+    }
+
+    @Test
+    void oneUserCannotHoldMoreThanTheLimit() {
+        for (int i = 0; i < 20; i++) {
+            stockReservationService.reserve(new StockReservationRequestDto(productIds.get(i % 3), 1), "alice");
+        }
+        ResponseStatusException refused = assertThrows(ResponseStatusException.class, () ->
+                stockReservationService.reserve(new StockReservationRequestDto(productIds.get(0), 1), "alice"));
+        assertEquals(429, refused.getStatusCode().value());
+
+        // The limit is per user and the refused request left the stock alone
+        stockReservationService.reserve(new StockReservationRequestDto(productIds.get(0), 3), "bob");
+        assertEquals(0, stockReservationService.getAvailability(productIds.get(0)).getAvailable());
+    }
+
+    @Test
+    void archivedOrdersStillResolveById() {
+        Order old = entityManager.find(Order.class, firstOrderId);
+        old.setStatus(OrderStatus.COMPLETED);
+        old.setOrderDate(java.sql.Date.valueOf(LocalDate.now().minusYears(2)));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, orderArchiveService.archiveOldOrders());
+        entityManager.clear();
+
+        assertNull(entityManager.find(Order.class, firstOrderId));
+        OrderDto archived = orderService.getOrderById(firstOrderId);
+        assertEquals(3, archived.getItems().size());
+        assertEquals(OrderStatus.COMPLETED.getDisplayName(), archived.getStatus());
+    }
+
+    @Test
+    void idempotentRetryIsAnsweredWithoutStatements() {
+        OrderDto order = newOrder(new OrderItemDto(productIds.get(0), 4));
+        OrderDto created = orderIdempotencyService.createOrder("alice", "retry-key", order);
+        entityManager.flush();
+        statistics().clear();
+
+        OrderDto replay = orderIdempotencyService.findReplay("alice", "retry-key", order);
+
+        assertEquals(created.getId(), replay.getId());
+        assertEquals(0, statistics().getPrepareStatementCount());
+        assertEquals(6, entityManager.find(Product.class, productIds.get(0)).getStock());
+        assertThrows(ResponseStatusException.class, () -> orderIdempotencyService.findReplay("alice", "retry-key",
+                newOrder(new OrderItemDto(productIds.get(1), 1))));
+        // The same key from another user is a new key, not a replay of alice's order
+        assertNull(orderIdempotencyService.findReplay("bob", "retry-key", order));
+    }
+
+    private OrderDto newOrder(OrderItemDto... items) {
+        OrderDto order = new OrderDto();
+        order.setCustomerName("Checkout Customer");
+        order.setCustomerEmail("checkout@example.com");
+        order.setStatus("PENDING");
+        order.setItems(List.of(items));
+        return order;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
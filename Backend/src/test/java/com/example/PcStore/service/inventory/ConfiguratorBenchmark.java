@@ -0,0 +1,84 @@
+package com.example.PcStore.service.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the configurator search on a synthetic catalog of 100k parts spread over
+ * eight types, with one worker and with every core, then once more with the
+ * production time budget. Plain main() like MapperBenchmark; run it with
+ * mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.PcStore.service.inventory.ConfiguratorBenchmark
+ */
+public class ConfiguratorBenchmark {
+
+    private static final String[] TYPES = {"CPU", "GPU", "RAM", "SSD", "MOTHERBOARD", "PSU", "CASE", "COOLER"};
+    private static final double[] BASE_PRICES = {250, 600, 120, 110, 180, 90, 80, 60};
+    private static final int PARTS = 100_000;
+    private static final int BRANDS = 40;
+    private static final double BUDGET = 1500;
+    private static final int LIMIT = 5;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final long UNLIMITED_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    public static void main(String[] args) {
+        List<List<BuildSearch.Candidate>> catalog = catalog(new Random(42));
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool all = new ForkJoinPool(cores);
+        try {
+            run("1 worker", catalog, false, single, UNLIMITED_NANOS);
+            run(cores + " workers", catalog, false, all, UNLIMITED_NANOS);
+            run(cores + " workers, same brand", catalog, true, all, UNLIMITED_NANOS);
+            run(cores + " workers, 500 ms", catalog, false, all, TimeUnit.MILLISECONDS.toNanos(500));
+        } finally {
+            single.shutdown();
+            all.shutdown();
+        }
+    }
+
+    private static void run(String name, List<List<BuildSearch.Candidate>> catalog, boolean sameBrand,
+                            ForkJoinPool pool, long timeBudgetNanos) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            new BuildSearch(catalog, BUDGET, LIMIT, sameBrand).run(pool, timeBudgetNanos);
+        }
+        long totalNanos = 0;
+        long totalNodes = 0;
+        BuildSearch.Result last = null;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            last = new BuildSearch(catalog, BUDGET, LIMIT, sameBrand).run(pool, timeBudgetNanos);
+            totalNanos += System.nanoTime() - start;
+            totalNodes += last.getNodesVisited();
+        }
+        double best = 0;
+        if (!last.getBuilds().isEmpty()) {
+            for (BuildSearch.Candidate part : last.getBuilds().get(0)) {
+                best += part.getPrice();
+            }
+        }
+        System.out.printf("%-28s %,10.2f ms/search %,14d nodes %10.2f best %s%n", name,
+                totalNanos / 1_000_000.0 / MEASURED_ROUNDS, totalNodes / MEASURED_ROUNDS, best,
+                last.isComplete() ? "complete" : "timed out");
+    }
+
+    private static List<List<BuildSearch.Candidate>> catalog(Random random) {
+        List<List<BuildSearch.Candidate>> catalog = new ArrayList<>(TYPES.length);
+        for (int t = 0; t < TYPES.length; t++) {
+            catalog.add(new ArrayList<>());
+        }
+        for (long id = 1; id <= PARTS; id++) {
+            int t = (int) (id % TYPES.length);
+            // Prices spread from a third to three times the type's base price, in whole cents
+            double price = Math.round(BASE_PRICES[t] * (0.33 + random.nextDouble() * 2.67) * 100) / 100.0;
+            String brand = "Brand " + random.nextInt(BRANDS);
+            catalog.get(t).add(new BuildSearch.Candidate(id, TYPES[t] + " " + id, TYPES[t], brand,
+                    (long) random.nextInt(5_000), price));
+        }
+        return catalog;
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.PcStore.service.inventory;
+
+import com.example.PcStore.dto.inventory.PCPartsDto;
+import com.example.PcStore.dto.inventory.PartBulkResultDto;
+import com.example.PcStore.dto.inventory.PartDto;
+import com.example.PcStore.mapper.inventory.PCMapper;
+import com.example.PcStore.mapper.inventory.PartMapper;
+import com.example.PcStore.model.inventory.PC;
+import com.example.PcStore.model.inventory.pcPart;
+import com.example.PcStore.service.CatalogVersions;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Guards the part reads: a PC's parts come from one indexed query, never from findAll
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({PartService.class, PCService.class, PartBulkService.class, InventorySnapshot.class, PartMapper.class, PCMapper.class, CatalogVersions.class})
+class PartServiceQueryCountTests {
+
+    @Autowired
+    private PartService partService;
+
+    @Autowired
+    private PCService pcService;
+
+    @Autowired
+    private PartBulkService partBulkService;
+
+    @Autowired
+    private InventorySnapshot inventorySnapshot;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        for (long pcId = 1; pcId <= 3; pcId++) {
+            PC pc = new PC();
+            pc.setId(pcId);
+            pc.setName("PC " + pcId);
+            pc.setBrand("Brand");
+            entityManager.persist(pc);
+            if (pcId == 3) {
+                continue;
+            }
+            addPart(pc, "GPU", 500);
+            addPart(pc, "RAM", 60);
+            addPart(pc, "RAM", 60);
+            addPart(pc, "CPU", 300);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+    }
+
+    @Test
+    void getPartsByPcGroupsByTypeInOneStatement() {
+        PCPartsDto parts = partService.getPartsByPc(1L);
+
+        assertEquals(4, parts.getPartCount());
+        assertEquals(920.0, parts.getSubtotal());
+        assertEquals(List.of("CPU", "GPU", "RAM"),
+                parts.getGroups().stream().map(group -> group.getType()).toList());
+        assertEquals(120.0, parts.getGroups().get(2).getSubtotal());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void getPartsByPcsLoadsEveryPcInOneStatement() {
+        List<PCPartsDto> parts = partService.getPartsByPcs(List.of(2L, 1L, 3L));
+
+        assertEquals(List.of(2L, 1L, 3L), parts.stream().map(PCPartsDto::getPcId).toList());
+        assertEquals(4, parts.get(0).getPartCount());
+        assertEquals(0, parts.get(2).getPartCount());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void getPartsByPcRejectsMissingPc() {
+        assertThrows(ResponseStatusException.class, () -> partService.getPartsByPc(99L));
+    }
+
+    @Test
+    void reconcileFillsPartTotals() {
+        assertEquals(2, pcService.reconcilePartTotals());
+
+        assertTotals(1L, 920.0, 4);
+        assertTotals(3L, 0.0, 0);
+        assertEquals(0, pcService.reconcilePartTotals());
+    }
+
+    @Test
+    void partWritesKeepPcTotalsCurrent() {
+        pcService.reconcilePartTotals();
+
+        PartDto added = partService.addpart(new PartDto(null, "Fan", "COOLER", 3L, 25.0));
+        assertTotals(3L, 25.0, 1);
+
+        // Re-priced and moved from PC 3 to PC 1
+        partService.updatePart(new PartDto(added.getId(), "Fan", "COOLER", 1L, 30.0));
+        assertTotals(3L, 0.0, 0);
+        assertTotals(1L, 950.0, 5);
+
+        partService.updatePart(new PartDto(added.getId(), "Fan", "COOLER", 1L, 40.0));
+        assertTotals(1L, 960.0, 5);
+
+        partService.deletepart(added.getId());
+        assertTotals(1L, 920.0, 4);
+        assertEquals(0, pcService.reconcilePartTotals());
+    }
+
+    @Test
+    void bulkUpsertValidatesPcsOnceAndBatchesWrites() {
+        pcService.reconcilePartTotals();
+        Long gpuId = partService.getPartsByPc(1L).getGroups().get(1).getParts().get(0).getId();
+        entityManager.clear();
+        statistics().clear();
+
+        List<PartDto> parts = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            parts.add(new PartDto(null, "Part " + i, "RAM", 3L, 10.0));
+        }
+        parts.add(new PartDto(gpuId, "GPU upgrade", "GPU", 1L, 650.0));
+        parts.add(new PartDto(null, "Orphan", "RAM", 99L, 10.0));
+        parts.add(new PartDto(12345L, "Ghost", "RAM", 1L, 10.0));
+        PartBulkResultDto result = partBulkService.upsertParts(parts);
+
+        assertEquals(15, result.getCreated());
+        assertEquals(1, result.getUpdated());
+        assertEquals(2, result.getRejected());
+        assertEquals(PartBulkService.CREATED, result.getResults().get(0).getStatus());
+        assertNotNull(result.getResults().get(0).getId());
+        assertEquals(PartBulkService.UPDATED, result.getResults().get(15).getStatus());
+        assertEquals(PartBulkService.REJECTED, result.getResults().get(16).getStatus());
+        assertEquals(PartBulkService.REJECTED, result.getResults().get(17).getStatus());
+        // The one findAllById for every PC; the reads and batches after it run on plain JDBC
+        assertEquals(1, statistics().getPrepareStatementCount());
+
+        assertTotals(3L, 150.0, 15);
+        assertTotals(1L, 1070.0, 4);
+        assertEquals(0, pcService.reconcilePartTotals());
+    }
+
+    @Test
+    void listsAreServedFromTheSnapshot() {
+        pcService.reconcilePartTotals();
+        inventorySnapshot.load();
+
+        assertEquals(8, partService.getAllParts(null, null, null, null, null).size());
+        List<PartDto> ram = partService.getAllParts("ram", 1L, null, null, "-price");
+        assertEquals(2, ram.size());
+        assertEquals(List.of(500.0, 300.0, 60.0, 60.0),
+                partService.getAllParts(null, 2L, null, null, "-price").stream().map(PartDto::getPrice).toList());
+        assertEquals(List.of(3L, 2L, 1L),
+                pcService.getAllPCs("brand", null, null, "-id").stream().map(pc -> pc.getId()).toList());
+        assertEquals(List.of(2L, 1L, 3L),
+                pcService.getAllPCs(null, null, 0.0, "-partsPrice").stream().map(pc -> pc.getId()).toList());
+        assertThrows(ResponseStatusException.class, () -> partService.getAllParts(null, null, null, null, "weight"));
+
+        // A row written behind the services' back stays invisible until the next rebuild,
+        // and so does the ETag change: it follows the snapshot being served
+        String etag = partService.getCatalogEtag();
+        PC pc = entityManager.find(PC.class, 3L);
+        addPart(pc, "SSD", 90);
+        entityManager.flush();
+        statistics().clear();
+        assertEquals(8, partService.getAllParts(null, null, null, null, null).size());
+        assertEquals(etag, partService.getCatalogEtag());
+        assertEquals(0, statistics().getPrepareStatementCount());
+
+        inventorySnapshot.load();
+        assertEquals(1, partService.getAllParts("SSD", null, null, null, null).size());
+        assertNotEquals(etag, partService.getCatalogEtag());
+    }
+
+    private void assertTotals(Long pcId, double partsPrice, int partCount) {
+        entityManager.flush();
+        entityManager.clear();
+        PC pc = entityManager.find(PC.class, pcId);
+        assertEquals(partsPrice, pc.getPartsPrice());
+        assertEquals(partCount, pc.getPartCount());
+    }
+
+    private void addPart(PC pc, String type, double price) {
+        pcPart part = new pcPart();
+        part.setPartName(type + " for " + pc.getName());
+        part.setType(type);
+        part.setPrice(price);
+        part.setPc(pc);
+        entityManager.persist(part);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
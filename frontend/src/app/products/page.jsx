@@ -11,6 +11,8 @@ export default function Products() {
   const [isCartOpen, setIsCartOpen] = useState(false);
   const [currentSlide, setCurrentSlide] = useState(0);
   const [searchTerm, setSearchTerm] = useState("");
+  // Ids matched by the server-side text search (name, category, description); null when not searching
+  const [searchIds, setSearchIds] = useState(null);
   const [priceRange, setPriceRange] = useState({ min: 0, max: 100000 });
   const [selectedCategory, setSelectedCategory] = useState("all");
   const [categories, setCategories] = useState([]);
@@ -63,15 +65,54 @@ export default function Products() {
     fetchProducts();
   }, []);
 
+  // The list only carries a clipped description, so matching runs against the server's text index
+  useEffect(() => {
+    const query = searchTerm.trim();
+    if (!query) {
+      setSearchIds(null);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const ids = new Set();
+        for (let page = 0; ; page++) {
+          const response = await fetch(
+            `http://localhost:8080/api/products/search/text?q=${encodeURIComponent(query)}&page=${page}&size=100`
+          );
+          if (!response.ok) {
+            throw new Error(`HTTP error! status: ${response.status}`);
+          }
+          const data = await response.json();
+          data.items.forEach(item => ids.add(item.id));
+          if (data.items.length < data.size || ids.size >= data.total) {
+            break;
+          }
+        }
+        if (!cancelled) {
+          setSearchIds(ids);
+        }
+      } catch (err) {
+        // Fall back to matching names locally
+        if (!cancelled) {
+          setSearchIds(null);
+        }
+      }
+    }, 300);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchTerm]);
+
   // Filter and search products
   useEffect(() => {
     let filtered = products;
     // Search filter
-    if (searchTerm) {
-      filtered = filtered.filter(product =>
-        product.name.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        product.description.toLowerCase().includes(searchTerm.toLowerCase())
-      );
+    if (searchTerm.trim()) {
+      filtered = searchIds
+        ? filtered.filter(product => searchIds.has(product.id))
+        : filtered.filter(product => product.name.toLowerCase().includes(searchTerm.trim().toLowerCase()));
     }
     // Category filter
     if (selectedCategory !== "all") {
@@ -97,7 +138,7 @@ export default function Products() {
     });
 
     setFilteredProducts(filtered);
-  }, [products, searchTerm, selectedCategory, priceRange, sortBy]);
+  }, [products, searchTerm, searchIds, selectedCategory, priceRange, sortBy]);
 
   const addToCart = (product) => {
     if (product.stock <= 0)
@@ -367,7 +408,7 @@ export default function Products() {
                 </div>
                 <div className="p-6">
                   <h2 className="mb-2 text-xl font-semibold text-white">{product.name}</h2>
-                  <p className="mb-4 text-sm text-gray-300 line-clamp-2">{product.description}</p>
+                  <p className="mb-4 text-sm text-gray-300 line-clamp-2">{product.shortDescription}</p>
                   <div className="flex items-center justify-between mb-4">
                     <span className="text-lg font-bold text-purple-300">
                       ${product.price.toFixed(2)}